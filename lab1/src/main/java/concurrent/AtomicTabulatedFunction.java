@@ -0,0 +1,174 @@
+package concurrent;
+
+import functions.AbstractTabulatedFunction;
+import functions.Point;
+import functions.TabulatedFunction;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleUnaryOperator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Табулированная функция с фиксированной сеткой x, значения y изменяются атомарно через CAS
+// без блокировок. Атомарность гарантируется для каждой точки по отдельности, не для всей таблицы.
+public class AtomicTabulatedFunction extends AbstractTabulatedFunction {
+    private static final Logger logger = LogManager.getLogger(AtomicTabulatedFunction.class);
+    private static final VarHandle Y_VALUES = MethodHandles.arrayElementVarHandle(double[].class);
+
+    private final double[] xValues;
+    private final double[] yValues;
+
+    public AtomicTabulatedFunction(double[] xValues, double[] yValues) {
+        logger.info("Создание AtomicTabulatedFunction из массивов, размер: {}", xValues.length);
+        if (xValues.length < 2) {
+            logger.error("Попытка создать функцию с менее чем 2 точками: {}", xValues.length);
+            throw new IllegalArgumentException("Длина таблицы должна быть не менее 2 точек");
+        }
+        checkLengthIsTheSame(xValues, yValues);
+        checkSorted(xValues);
+
+        this.count = xValues.length;
+        this.xValues = xValues.clone();
+        this.yValues = yValues.clone();
+    }
+
+    public AtomicTabulatedFunction(TabulatedFunction function) {
+        this(valuesOf(function));
+    }
+
+    private AtomicTabulatedFunction(double[][] values) {
+        this(values[0], values[1]);
+    }
+
+    // Атомарное чтение-изменение-запись одной точки, возвращает новое значение
+    public double updateY(int index, DoubleUnaryOperator operator) {
+        while (true) {
+            double current = (double) Y_VALUES.getVolatile(yValues, index);
+            double updated = operator.applyAsDouble(current);
+            if (Y_VALUES.compareAndSet(yValues, index, current, updated)) {
+                return updated;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Применяет оператор к каждой точке; каждая точка обновляется атомарно и ни одно обновление не теряется
+    public void updateAll(DoubleUnaryOperator operator) {
+        for (int i = 0; i < count; i++) {
+            updateY(i, operator);
+        }
+    }
+
+    public boolean compareAndSetY(int index, double expected, double value) {
+        return Y_VALUES.compareAndSet(yValues, index, expected, value);
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public double getX(int index) {
+        return xValues[index];
+    }
+
+    @Override
+    public double getY(int index) {
+        return (double) Y_VALUES.getVolatile(yValues, index);
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        Y_VALUES.setVolatile(yValues, index, value);
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        int index = floorIndex(x);
+        return index >= 0 && xValues[index] == x ? index : -1;
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        for (int i = 0; i < count; i++) {
+            if (getY(i) == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public double leftBound() {
+        return xValues[0];
+    }
+
+    @Override
+    public double rightBound() {
+        return xValues[count - 1];
+    }
+
+    // Последний индекс с xValues[i] <= x, -1 если x левее таблицы
+    private int floorIndex(double x) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (xValues[middle] <= x) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    protected int floorIndexOfX(double x) {
+        if (x < xValues[0]) {
+            logger.error("x={} меньше левой границы {}", x, xValues[0]);
+            throw new IllegalArgumentException("x меньше левой границы: " + x + " < " + xValues[0]);
+        }
+        return floorIndex(x);
+    }
+
+    @Override
+    protected double extrapolateLeft(double x) {
+        return interpolate(x, xValues[0], xValues[1], getY(0), getY(1));
+    }
+
+    @Override
+    protected double extrapolateRight(double x) {
+        return interpolate(x, xValues[count - 2], xValues[count - 1], getY(count - 2), getY(count - 1));
+    }
+
+    @Override
+    protected double interpolate(double x, int floorIndex) {
+        return interpolate(x, xValues[floorIndex], xValues[floorIndex + 1], getY(floorIndex), getY(floorIndex + 1));
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return new Iterator<Point>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < count;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет больше элементов");
+                }
+                Point point = new Point(xValues[i], getY(i));
+                i++;
+                return point;
+            }
+        };
+    }
+}
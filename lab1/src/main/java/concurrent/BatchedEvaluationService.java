@@ -0,0 +1,297 @@
+package concurrent;
+
+import functions.MathFunction;
+import functions.Point;
+import functions.TabulatedFunction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Асинхронное вычисление значений функций пакетами: запросы накапливаются в ограниченной очереди,
+// поток-диспетчер забирает их пачкой, группирует по функции и сортирует по x. Табулированные функции
+// вычисляются одним проходом по таблице вместо отдельного поиска для каждого x.
+// При заполненной очереди evaluate блокирует вызывающий поток.
+public class BatchedEvaluationService implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(BatchedEvaluationService.class);
+    // Количество последних задержек, по которым считаются процентили
+    private static final int LATENCY_WINDOW = 4096;
+
+    private static final class Request {
+        final MathFunction function;
+        final double x;
+        final CompletableFuture<Double> future = new CompletableFuture<>();
+        final long submitNanos = System.nanoTime();
+
+        Request(MathFunction function, double x) {
+            this.function = function;
+            this.x = x;
+        }
+    }
+
+    // Сигнал диспетчеру о завершении работы
+    private static final Request SHUTDOWN = new Request(x -> x, 0);
+
+    private final BlockingQueue<Request> queue;
+    private final int maxBatchSize;
+    private final Thread dispatcher;
+    // Отправка запросов берет блокировку на чтение, закрытие - на запись
+    private final ReadWriteLock submissionLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    // Метрики изменяются только потоком-диспетчером, читаются под монитором metricsLock
+    private final Object metricsLock = new Object();
+    private long batchCount;
+    private long evaluatedCount;
+    private int maxObservedBatchSize;
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount;
+
+    public BatchedEvaluationService(int queueCapacity, int maxBatchSize) {
+        if (queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Размер очереди и пакета должны быть положительными");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.dispatcher = new Thread(this::dispatch, "Batch-Dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        logger.info("Создан BatchedEvaluationService, размер очереди: {}, максимальный пакет: {}", queueCapacity, maxBatchSize);
+    }
+
+    public BatchedEvaluationService() {
+        this(1024, 256);
+    }
+
+    // Блокируется, пока в очереди нет места
+    public CompletableFuture<Double> evaluate(MathFunction function, double x) throws InterruptedException {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        Request request = new Request(function, x);
+        submissionLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Сервис вычислений закрыт");
+            }
+            queue.put(request);
+        } finally {
+            submissionLock.readLock().unlock();
+        }
+        return request.future;
+    }
+
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                logger.warn("Поток-диспетчер прерван");
+                break;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            if (batch.remove(SHUTDOWN)) {
+                // Все запросы, отправленные до закрытия, уже в очереди
+                queue.drainTo(batch);
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                process(batch);
+            }
+            batch.clear();
+        }
+        logger.info("Поток-диспетчер завершил работу");
+    }
+
+    private void process(List<Request> batch) {
+        Map<MathFunction, List<Request>> groups = new IdentityHashMap<>();
+        for (Request request : batch) {
+            groups.computeIfAbsent(request.function, function -> new ArrayList<>()).add(request);
+        }
+        for (Map.Entry<MathFunction, List<Request>> entry : groups.entrySet()) {
+            List<Request> group = entry.getValue();
+            group.sort((first, second) -> Double.compare(first.x, second.x));
+            try {
+                if (entry.getKey() instanceof TabulatedFunction && isMergeWalkCheaper((TabulatedFunction) entry.getKey(), group.size())) {
+                    mergeWalk((TabulatedFunction) entry.getKey(), group);
+                } else {
+                    for (Request request : group) {
+                        complete(request, entry.getKey().apply(request.x));
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Ошибка при вычислении пакета для функции {}, запросы вычисляются по одному",
+                    entry.getKey().getClass().getSimpleName(), e);
+                evaluateSeparately(entry.getKey(), group);
+            }
+        }
+        synchronized (metricsLock) {
+            batchCount++;
+            maxObservedBatchSize = Math.max(maxObservedBatchSize, batch.size());
+        }
+        logger.debug("Обработан пакет из {} запросов для {} функций", batch.size(), groups.size());
+    }
+
+    private void evaluateSeparately(MathFunction function, List<Request> group) {
+        for (Request request : group) {
+            if (request.future.isDone()) {
+                continue;
+            }
+            try {
+                complete(request, function.apply(request.x));
+            } catch (RuntimeException e) {
+                request.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Проход по всей таблице выгоднее отдельных поисков, только если запросов достаточно много
+    private static boolean isMergeWalkCheaper(TabulatedFunction function, int requests) {
+        int count = function.getCount();
+        int log = 32 - Integer.numberOfLeadingZeros(count);
+        return (long) requests * log >= count;
+    }
+
+    // Отсортированные запросы и узлы таблицы обходятся одновременно, как при слиянии
+    private void mergeWalk(TabulatedFunction function, List<Request> sorted) {
+        Iterator<Point> iterator = function.iterator();
+        Point left = iterator.next();
+        Point right = iterator.next();
+        int i = 0;
+
+        // Левее таблицы - экстраполяция через apply
+        while (i < sorted.size() && sorted.get(i).x < left.x) {
+            complete(sorted.get(i), function.apply(sorted.get(i).x));
+            i++;
+        }
+        while (i < sorted.size()) {
+            Request request = sorted.get(i);
+            double x = request.x;
+            if (Double.isNaN(x)) {
+                // NaN сортируются в конец и не сравнимы с узлами, они вычисляются через apply ниже
+                break;
+            }
+            if (x > right.x) {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                left = right;
+                right = iterator.next();
+                continue;
+            }
+            if (x == left.x) {
+                complete(request, left.y);
+            } else if (x == right.x) {
+                complete(request, right.y);
+            } else {
+                complete(request, left.y + (right.y - left.y) * (x - left.x) / (right.x - left.x));
+            }
+            i++;
+        }
+        // Правее таблицы и NaN - через apply, чтобы результат совпадал с вычислением без пакета
+        for (; i < sorted.size(); i++) {
+            complete(sorted.get(i), function.apply(sorted.get(i).x));
+        }
+    }
+
+    private void complete(Request request, double value) {
+        request.future.complete(value);
+        long latency = System.nanoTime() - request.submitNanos;
+        synchronized (metricsLock) {
+            latencies[(int) (evaluatedCount % LATENCY_WINDOW)] = latency;
+            latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+            evaluatedCount++;
+        }
+    }
+
+    public long getBatchCount() {
+        synchronized (metricsLock) {
+            return batchCount;
+        }
+    }
+
+    public long getEvaluatedCount() {
+        synchronized (metricsLock) {
+            return evaluatedCount;
+        }
+    }
+
+    public double getMeanBatchSize() {
+        synchronized (metricsLock) {
+            return batchCount == 0 ? 0 : (double) evaluatedCount / batchCount;
+        }
+    }
+
+    public int getMaxBatchSize() {
+        synchronized (metricsLock) {
+            return maxObservedBatchSize;
+        }
+    }
+
+    // Задержка от отправки запроса до получения результата по последним LATENCY_WINDOW запросам (0..100)
+    public double getLatencyPercentileMillis(double percentile) {
+        long[] sorted;
+        synchronized (metricsLock) {
+            sorted = Arrays.copyOf(latencies, latencyCount);
+        }
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    // Новые запросы отклоняются, уже принятые вычисляются до конца. Прерывание не отменяет закрытие:
+    // сигнал диспетчеру все равно отправляется, а флаг прерывания восстанавливается перед выходом
+    @Override
+    public void close() {
+        boolean interrupted = false;
+        submissionLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            while (true) {
+                try {
+                    queue.put(SHUTDOWN);
+                    break;
+                } catch (InterruptedException e) {
+                    // Диспетчер освобождает очередь, поэтому место для сигнала скоро появится
+                    interrupted = true;
+                }
+            }
+        } finally {
+            submissionLock.writeLock().unlock();
+        }
+        if (interrupted) {
+            logger.warn("Закрытие BatchedEvaluationService прервано, диспетчер завершит работу в фоне");
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            logger.warn("Ожидание завершения диспетчера прервано");
+            Thread.currentThread().interrupt();
+            return;
+        }
+        logger.info("BatchedEvaluationService закрыт, пакетов: {}, запросов: {}", getBatchCount(), getEvaluatedCount());
+    }
+}
@@ -0,0 +1,510 @@
+package concurrent;
+
+import functions.DualNumber;
+import functions.Insertable;
+import functions.Point;
+import functions.Removable;
+import functions.TabulatedFunction;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Упорядоченная табулированная функция на неблокирующем списке с пропусками (Herlihy-Shavit)
+// с ключами-примитивами double. Гарантии:
+//  - insert, removeX и getYAt линеаризуемы: добавление новой точки - в момент связывания нижнего уровня,
+//    замена y существующей точки и удаление - в момент CAS значения y, чтение - в момент чтения y;
+//  - apply и applyDual читают два соседних узла по отдельности: каждый узел согласован, но пара - не снимок
+//    таблицы; значение и производная applyDual вычисляются по одной и той же прочитанной паре;
+//  - итераторы, range и методы с индексами слабо согласованы: видят точки, существовавшие на протяжении
+//    всего обхода, и могут видеть или не видеть изменения, сделанные во время обхода;
+//  - getCount точен только в отсутствие параллельных изменений.
+public class ConcurrentSkipListTabulatedFunction implements TabulatedFunction, Insertable, Removable {
+    private static final Logger logger = LogManager.getLogger(ConcurrentSkipListTabulatedFunction.class);
+    private static final int MAX_LEVEL = 32;
+    private static final VarHandle Y_BITS;
+    // Битовое представление y удаленной точки; NaN, записываемые пользователем, приводятся к каноническому виду
+    private static final long DELETED = 0x7ff8_dead_0000_deadL;
+
+    static {
+        try {
+            Y_BITS = MethodHandles.lookup().findVarHandle(Node.class, "yBits", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Ссылка на следующий узел с меткой удаления; отдельный класс позволяет создать массив ссылок без приведения типов
+    private static final class Link extends AtomicMarkableReference<Node> {
+        Link() {
+            super(null, false);
+        }
+    }
+
+    private static final class Node {
+        final double x;
+        final int topLevel;
+        final Link[] next;
+        // Изменяется только через Y_BITS
+        volatile long yBits;
+
+        Node(double x, long yBits, int topLevel) {
+            this.x = x;
+            this.yBits = yBits;
+            this.topLevel = topLevel;
+            this.next = new Link[topLevel + 1];
+            for (int level = 0; level <= topLevel; level++) {
+                next[level] = new Link();
+            }
+        }
+
+        boolean isDeleted() {
+            return yBits == DELETED;
+        }
+    }
+
+    private final Node head = new Node(Double.NEGATIVE_INFINITY, 0, MAX_LEVEL - 1);
+    private final Node tail = new Node(Double.POSITIVE_INFINITY, 0, MAX_LEVEL - 1);
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ConcurrentSkipListTabulatedFunction() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level].set(tail, false);
+        }
+    }
+
+    // Массивы x не обязаны быть отсортированы, повторяющийся x заменяет значение
+    public ConcurrentSkipListTabulatedFunction(double[] xValues, double[] yValues) {
+        this();
+        logger.info("Создание ConcurrentSkipListTabulatedFunction из массивов, размер: {}", xValues.length);
+        if (xValues.length != yValues.length) {
+            logger.error("Массивы имеют разную длину: xValues.length={}, yValues.length={}", xValues.length, yValues.length);
+            throw new IllegalArgumentException("Массивы имеют разную длину");
+        }
+        for (int i = 0; i < xValues.length; i++) {
+            insert(xValues[i], yValues[i]);
+        }
+    }
+
+    public ConcurrentSkipListTabulatedFunction(TabulatedFunction function) {
+        this();
+        for (Point point : function) {
+            insert(point.x, point.y);
+        }
+    }
+
+    private static long toBits(double y) {
+        // doubleToLongBits сворачивает все NaN в канонический, поэтому не совпадает с DELETED
+        return Double.doubleToLongBits(y);
+    }
+
+    private static void checkX(double x) {
+        if (!Double.isFinite(x)) {
+            logger.error("Недопустимое значение x: {}", x);
+            throw new IllegalArgumentException("x должен быть конечным числом: " + x);
+        }
+    }
+
+    private static int randomLevel() {
+        // Геометрическое распределение с p = 1/2
+        int bits = ThreadLocalRandom.current().nextInt();
+        return Math.min(Integer.numberOfTrailingZeros(bits | (1 << (MAX_LEVEL - 1))), MAX_LEVEL - 1);
+    }
+
+    // Заполняет preds/succs на всех уровнях, попутно физически удаляя помеченные узлы.
+    // Возвращает true, если на нижнем уровне найден узел с ключом x (он может быть логически удален)
+    private boolean find(double x, Node[] preds, Node[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node pred = head;
+            Node curr = null;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (true) {
+                    Node succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (curr.x < x) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr.x == x;
+        }
+    }
+
+    // Помечает ссылки узла сверху вниз, после чего find исключит его из списка
+    private static void markNode(Node node) {
+        boolean[] marked = {false};
+        for (int level = node.topLevel; level >= 0; level--) {
+            Node succ = node.next[level].get(marked);
+            while (!marked[0]) {
+                node.next[level].compareAndSet(succ, succ, false, true);
+                succ = node.next[level].get(marked);
+            }
+        }
+    }
+
+    @Override
+    public void insert(double x, double y) {
+        checkX(x);
+        long bits = toBits(y);
+        int topLevel = randomLevel();
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+
+        while (true) {
+            if (find(x, preds, succs)) {
+                Node node = succs[0];
+                long current = node.yBits;
+                if (current == DELETED) {
+                    // Узел удаляется другим потоком: помогаем завершить удаление и повторяем
+                    markNode(node);
+                    continue;
+                }
+                if (Y_BITS.compareAndSet(node, current, bits)) {
+                    logger.trace("Обновлено значение в точке x={}: {}", x, y);
+                    return;
+                }
+                continue;
+            }
+
+            Node node = new Node(x, bits, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                node.next[level].set(succs[level], false);
+            }
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                continue;
+            }
+            size.incrementAndGet();
+            logger.trace("Вставлена точка ({}, {})", x, y);
+
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    if (preds[level].next[level].compareAndSet(succs[level], node, false, false)) {
+                        break;
+                    }
+                    find(x, preds, succs);
+                    if (node.isDeleted()) {
+                        // Узел уже удален, связывать верхние уровни не нужно
+                        return;
+                    }
+                    Node expected = node.next[level].getReference();
+                    // Ссылка, помеченная удаляющим потоком, не должна быть перезаписана
+                    if (!node.next[level].compareAndSet(expected, succs[level], false, false)) {
+                        return;
+                    }
+                }
+            }
+            return;
+        }
+    }
+
+    // Удаляет точку с абсциссой x, возвращает false, если такой точки нет
+    public boolean removeX(double x) {
+        if (!Double.isFinite(x)) {
+            return false;
+        }
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        while (true) {
+            if (!find(x, preds, succs)) {
+                return false;
+            }
+            Node node = succs[0];
+            long current = node.yBits;
+            if (current == DELETED) {
+                return false;
+            }
+            if (Y_BITS.compareAndSet(node, current, DELETED)) {
+                size.decrementAndGet();
+                markNode(node);
+                find(x, preds, succs);
+                logger.trace("Удалена точка с x={}", x);
+                return true;
+            }
+        }
+    }
+
+    // Удаление по индексу: поиск индекса и удаление выполняются не атомарно
+    @Override
+    public void remove(int index) {
+        logger.info("Удаление точки с индексом {} из ConcurrentSkipListTabulatedFunction", index);
+        while (!removeX(nodeAt(index).x)) {
+            logger.debug("Точка с индексом {} удалена другим потоком, повторный поиск", index);
+        }
+    }
+
+    // Значение в точке x или NaN, если такой точки нет
+    public double getYAt(double x) {
+        Node node = ceilingNode(x);
+        return node != tail && node.x == x ? Double.longBitsToDouble(node.yBits) : Double.NaN;
+    }
+
+    public boolean containsX(double x) {
+        Node node = ceilingNode(x);
+        return node != tail && node.x == x;
+    }
+
+    // Следующий за node неудаленный узел нижнего уровня (или tail), без изменения списка
+    private Node nextLive(Node node) {
+        Node curr = node.next[0].getReference();
+        while (curr != tail && (curr.isDeleted() || curr.next[0].isMarked())) {
+            curr = curr.next[0].getReference();
+        }
+        return curr;
+    }
+
+    // Первый неудаленный узел с ключом >= x (или tail); спуск по уровням без изменения списка.
+    // Как в contains у Herlihy-Shavit, помеченные узлы пропускаются на каждом уровне и не становятся pred
+    private Node ceilingNode(double x) {
+        boolean[] marked = {false};
+        Node pred = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (true) {
+                Node succ = curr.next[level].get(marked);
+                while (marked[0]) {
+                    curr = succ;
+                    succ = curr.next[level].get(marked);
+                }
+                if (curr.x < x) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+        // Узел может быть логически удален, но еще не помечен
+        return curr.isDeleted() ? nextLive(curr) : curr;
+    }
+
+    // Последний неудаленный узел с ключом < x (или head)
+    private Node lowerNode(double x) {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        while (true) {
+            find(x, preds, succs);
+            Node pred = preds[0];
+            if (pred == head || !pred.isDeleted()) {
+                return pred;
+            }
+            markNode(pred);
+        }
+    }
+
+    private Node nodeAt(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + getCount());
+        }
+        Node node = nextLive(head);
+        for (int i = 0; i < index && node != tail; i++) {
+            node = nextLive(node);
+        }
+        if (node == tail) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + getCount());
+        }
+        return node;
+    }
+
+    @Override
+    public int getCount() {
+        return Math.max(0, size.get());
+    }
+
+    // Методы с индексами проходят нижний уровень списка за O(index)
+    @Override
+    public double getX(int index) {
+        return nodeAt(index).x;
+    }
+
+    @Override
+    public double getY(int index) {
+        while (true) {
+            long bits = nodeAt(index).yBits;
+            if (bits != DELETED) {
+                return Double.longBitsToDouble(bits);
+            }
+        }
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        Node node = nodeAt(index);
+        insert(node.x, value);
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        int index = 0;
+        for (Node node = nextLive(head); node != tail && node.x <= x; node = nextLive(node)) {
+            if (node.x == x) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        int index = 0;
+        for (Node node = nextLive(head); node != tail; node = nextLive(node)) {
+            if (Double.longBitsToDouble(node.yBits) == y) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public double leftBound() {
+        Node first = nextLive(head);
+        if (first == tail) {
+            throw new IllegalStateException("Таблица пуста");
+        }
+        return first.x;
+    }
+
+    @Override
+    public double rightBound() {
+        Node last = lowerNode(Double.POSITIVE_INFINITY);
+        if (last == head) {
+            throw new IllegalStateException("Таблица пуста");
+        }
+        return last.x;
+    }
+
+    @Override
+    public double apply(double x) {
+        return evaluate(x, 0.0, false).getValue();
+    }
+
+    @Override
+    public boolean isDifferentiable() {
+        return true;
+    }
+
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return evaluate(x.getValue(), x.getDerivative(), true);
+    }
+
+    // Значение и наклон вычисляются по одной прочитанной паре узлов. Для значения в существующем узле
+    // отрезок не нужен; для производной в узле берется правый отрезок (в последнем узле - левый)
+    private DualNumber evaluate(double x, double derivative, boolean withSlope) {
+        while (true) {
+            Node right = ceilingNode(x);
+            Node left;
+            if (right != tail && right.x == x) {
+                if (!withSlope) {
+                    long bits = right.yBits;
+                    if (bits != DELETED) {
+                        return new DualNumber(Double.longBitsToDouble(bits), 0.0);
+                    }
+                    continue;
+                }
+                left = right;
+                right = nextLive(left);
+                if (right == tail) {
+                    right = left;
+                    left = lowerNode(right.x);
+                }
+            } else {
+                left = lowerNode(x);
+                if (left == head) {
+                    // Экстраполяция слева по двум первым точкам
+                    left = right;
+                    right = left == tail ? tail : nextLive(left);
+                } else if (right == tail) {
+                    // Экстраполяция справа по двум последним точкам
+                    right = left;
+                    left = lowerNode(right.x);
+                }
+            }
+            if (left == head || left == tail || right == tail) {
+                logger.error("Недостаточно точек для вычисления значения в x={}", x);
+                throw new IllegalStateException("Для вычисления значения нужно не менее 2 точек");
+            }
+            long leftBits = left.yBits;
+            long rightBits = right.yBits;
+            if (leftBits == DELETED || rightBits == DELETED) {
+                // Один из узлов окна удален во время чтения
+                continue;
+            }
+            double leftY = Double.longBitsToDouble(leftBits);
+            double rightY = Double.longBitsToDouble(rightBits);
+            double slope = (rightY - leftY) / (right.x - left.x);
+            double value;
+            if (x == left.x) {
+                value = leftY;
+            } else if (x == right.x) {
+                value = rightY;
+            } else {
+                value = leftY + (rightY - leftY) * (x - left.x) / (right.x - left.x);
+            }
+            return new DualNumber(value, slope * derivative);
+        }
+    }
+
+    // Слабо согласованный обход точек с from <= x <= to по возрастанию x
+    public Iterator<Point> range(double from, double to) {
+        Node start = ceilingNode(from);
+        return new Iterator<Point>() {
+            private Node node = start;
+            private Point nextPoint = advance();
+
+            // Точка читается заранее, чтобы hasNext и next согласовались при параллельном удалении
+            private Point advance() {
+                while (node != tail && node.x <= to) {
+                    Node current = node;
+                    long bits = current.yBits;
+                    node = nextLive(current);
+                    if (bits != DELETED) {
+                        return new Point(current.x, Double.longBitsToDouble(bits));
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return nextPoint != null;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет больше элементов");
+                }
+                Point point = nextPoint;
+                nextPoint = advance();
+                return point;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return range(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+}
@@ -0,0 +1,390 @@
+package concurrent;
+
+import functions.ArrayTabulatedFunction;
+import functions.SqrFunction;
+import functions.TabulatedFunction;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+
+// Нагрузочное сравнение реализаций из пакета concurrent при росте числа потоков.
+// Параметры задаются аргументами вида ключ=значение, например:
+//   threads=1,2,4,8 sizes=100,100000 reads=0,50,90,100 writes=set,rmw duration=1000
+// Для каждой комбинации выводятся пропускная способность, задержки p50/p99/p99.9 и счетчики
+// блокировок из ThreadMXBean (blocked - ожидание монитора, waited - парковка на ReentrantLock/StampedLock).
+// Таблица из 10^7 точек занимает 160 МБ и создается заново для каждого замера, для нее нужна куча от 2 ГБ (-Xmx2g).
+public class ContentionBenchmark {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    // Задержка замеряется для каждой LATENCY_SAMPLE_PERIOD-й операции, чтобы nanoTime не искажал пропускную способность
+    private static final int LATENCY_SAMPLE_PERIOD = 16;
+    private static final int MAX_LATENCY_SAMPLES = 1 << 16;
+    // Результаты чтений записываются сюда, чтобы JIT не удалил вычисления
+    private static volatile double sink;
+    // Копирование при записи таблиц большего размера занимает секунды на одну запись
+    private static final int COPY_ON_WRITE_MAX_WRITE_SIZE = 100_000;
+
+    // Операции, которые выполняет поток нагрузки над тестируемой реализацией
+    interface Target {
+        double read(double x);
+
+        void write(int index, double value);
+
+        // Атомарное чтение-изменение-запись, как в MultiplyingTask
+        void readModifyWrite(int index);
+    }
+
+    enum Implementation {
+        SYNCHRONIZED {
+            @Override
+            Target create(double[] xValues, double[] yValues) {
+                SynchronizedTabulatedFunction function =
+                    new SynchronizedTabulatedFunction(new ArrayTabulatedFunction(xValues, yValues));
+                return new Target() {
+                    @Override
+                    public double read(double x) {
+                        return function.apply(x);
+                    }
+
+                    @Override
+                    public void write(int index, double value) {
+                        function.setY(index, value);
+                    }
+
+                    @Override
+                    public void readModifyWrite(int index) {
+                        synchronized (function) {
+                            function.setY(index, function.getY(index) + 1);
+                        }
+                    }
+                };
+            }
+        },
+        // Шаблон ReadTask/WriteTask: незащищенная функция и общий внешний монитор
+        MONITOR {
+            @Override
+            Target create(double[] xValues, double[] yValues) {
+                TabulatedFunction function = new ArrayTabulatedFunction(xValues, yValues);
+                Object monitor = new Object();
+                return new Target() {
+                    @Override
+                    public double read(double x) {
+                        synchronized (monitor) {
+                            return function.apply(x);
+                        }
+                    }
+
+                    @Override
+                    public void write(int index, double value) {
+                        synchronized (monitor) {
+                            function.setY(index, value);
+                        }
+                    }
+
+                    @Override
+                    public void readModifyWrite(int index) {
+                        synchronized (monitor) {
+                            function.setY(index, function.getY(index) + 1);
+                        }
+                    }
+                };
+            }
+        },
+        STAMPED {
+            @Override
+            Target create(double[] xValues, double[] yValues) {
+                StampedTabulatedFunction function = new StampedTabulatedFunction(new ArrayTabulatedFunction(xValues, yValues));
+                return new Target() {
+                    @Override
+                    public double read(double x) {
+                        return function.apply(x);
+                    }
+
+                    @Override
+                    public void write(int index, double value) {
+                        function.setY(index, value);
+                    }
+
+                    @Override
+                    public void readModifyWrite(int index) {
+                        function.doSynchronously(f -> {
+                            f.setY(index, f.getY(index) + 1);
+                            return null;
+                        });
+                    }
+                };
+            }
+        },
+        STRIPED {
+            @Override
+            Target create(double[] xValues, double[] yValues) {
+                StripedTabulatedFunction function = new StripedTabulatedFunction(xValues, yValues,
+                    Runtime.getRuntime().availableProcessors() * 4);
+                return new Target() {
+                    @Override
+                    public double read(double x) {
+                        return function.apply(x);
+                    }
+
+                    @Override
+                    public void write(int index, double value) {
+                        function.setY(index, value);
+                    }
+
+                    @Override
+                    public void readModifyWrite(int index) {
+                        function.updateY(index, y -> y + 1);
+                    }
+                };
+            }
+        },
+        COPY_ON_WRITE {
+            @Override
+            Target create(double[] xValues, double[] yValues) {
+                CopyOnWriteTabulatedFunction function = new CopyOnWriteTabulatedFunction(xValues, yValues);
+                return new Target() {
+                    @Override
+                    public double read(double x) {
+                        return function.apply(x);
+                    }
+
+                    @Override
+                    public void write(int index, double value) {
+                        function.setY(index, value);
+                    }
+
+                    @Override
+                    public void readModifyWrite(int index) {
+                        function.update(draft -> draft.setY(index, draft.getY(index) + 1));
+                    }
+                };
+            }
+
+            @Override
+            boolean supportsWrites(int size) {
+                return size <= COPY_ON_WRITE_MAX_WRITE_SIZE;
+            }
+        },
+        ATOMIC {
+            @Override
+            Target create(double[] xValues, double[] yValues) {
+                AtomicTabulatedFunction function = new AtomicTabulatedFunction(xValues, yValues);
+                return new Target() {
+                    @Override
+                    public double read(double x) {
+                        return function.apply(x);
+                    }
+
+                    @Override
+                    public void write(int index, double value) {
+                        function.setY(index, value);
+                    }
+
+                    @Override
+                    public void readModifyWrite(int index) {
+                        function.updateY(index, y -> y + 1);
+                    }
+                };
+            }
+        };
+
+        abstract Target create(double[] xValues, double[] yValues);
+
+        boolean supportsWrites(int size) {
+            return true;
+        }
+    }
+
+    // Результат одного потока нагрузки
+    private static class WorkerResult {
+        long operations;
+        long blockedCount;
+        long waitedCount;
+        long[] latencies = new long[0];
+        int latencyCount;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] threadCounts = {1, 2, 4, 8, 16, 32, 64};
+        int[] sizes = {100, 10_000, 1_000_000, 10_000_000};
+        int[] readPercents = {0, 50, 90, 100};
+        String[] writeModes = {"set", "rmw"};
+        long durationMillis = 1000;
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Ожидался аргумент вида ключ=значение: " + arg);
+            }
+            switch (parts[0]) {
+                case "threads":
+                    threadCounts = parseInts(parts[1]);
+                    break;
+                case "sizes":
+                    sizes = parseInts(parts[1]);
+                    break;
+                case "reads":
+                    readPercents = parseInts(parts[1]);
+                    break;
+                case "writes":
+                    writeModes = parts[1].split(",");
+                    break;
+                case "duration":
+                    durationMillis = Long.parseLong(parts[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Неизвестный параметр: " + parts[0]);
+            }
+        }
+
+        // Отладочное логирование в apply/setY на порядки дороже самих операций
+        Configurator.setAllLevels(LogManager.ROOT_LOGGER_NAME, Level.WARN);
+        if (THREAD_MX_BEAN.isThreadContentionMonitoringSupported()) {
+            THREAD_MX_BEAN.setThreadContentionMonitoringEnabled(true);
+        }
+
+        System.out.println("Реализация | Размер | Потоки | Чтений % | Запись | млн оп/с | p50 нс | p99 нс | p99.9 нс | blocked | waited");
+        for (int size : sizes) {
+            double[] xValues = new double[size];
+            double[] yValues = new double[size];
+            TabulatedFunction source = new ArrayTabulatedFunction(new SqrFunction(), 0, size - 1, size);
+            for (int i = 0; i < size; i++) {
+                xValues[i] = source.getX(i);
+                yValues[i] = source.getY(i);
+            }
+
+            for (String writeMode : writeModes) {
+                boolean readModifyWrite = "rmw".equals(writeMode);
+                for (int readPercent : readPercents) {
+                    for (int threads : threadCounts) {
+                        for (Implementation implementation : Implementation.values()) {
+                            if (readPercent == 100 && readModifyWrite) {
+                                // Чистое чтение уже измерено в режиме set
+                                break;
+                            }
+                            if (readPercent < 100 && !implementation.supportsWrites(size)) {
+                                continue;
+                            }
+                            // Прогрев на отдельном экземпляре
+                            run(implementation.create(xValues, yValues), size, threads, readPercent,
+                                readModifyWrite, durationMillis / 4);
+                            List<WorkerResult> results = run(implementation.create(xValues, yValues), size, threads,
+                                readPercent, readModifyWrite, durationMillis);
+                            print(implementation, size, threads, readPercent, writeMode, results, durationMillis);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] parseInts(String value) {
+        return Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static List<WorkerResult> run(Target target, int size, int threadCount, int readPercent,
+                                          boolean readModifyWrite, long durationMillis) throws InterruptedException {
+        List<WorkerResult> results = new ArrayList<>();
+        Thread[] threads = new Thread[threadCount];
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+
+        for (int t = 0; t < threadCount; t++) {
+            WorkerResult result = new WorkerResult();
+            results.add(result);
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long[] latencies = new long[MAX_LATENCY_SAMPLES];
+                int latencyCount = 0;
+                long operations = 0;
+                double readSum = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadInfo before = THREAD_MX_BEAN.getThreadInfo(Thread.currentThread().getId());
+                long end = deadline[0];
+
+                while (true) {
+                    boolean sampled = (operations & (LATENCY_SAMPLE_PERIOD - 1)) == 0;
+                    long operationStart = sampled ? System.nanoTime() : 0;
+                    if (random.nextInt(100) < readPercent) {
+                        readSum += target.read(random.nextDouble() * (size - 1));
+                    } else if (readModifyWrite) {
+                        target.readModifyWrite(random.nextInt(size));
+                    } else {
+                        target.write(random.nextInt(size), operations);
+                    }
+                    operations++;
+                    if (sampled) {
+                        long now = System.nanoTime();
+                        if (latencyCount < latencies.length) {
+                            latencies[latencyCount++] = now - operationStart;
+                        }
+                        if (now >= end) {
+                            break;
+                        }
+                    }
+                }
+
+                ThreadInfo after = THREAD_MX_BEAN.getThreadInfo(Thread.currentThread().getId());
+                result.operations = operations;
+                result.blockedCount = after.getBlockedCount() - before.getBlockedCount();
+                result.waitedCount = after.getWaitedCount() - before.getWaitedCount();
+                result.latencies = latencies;
+                result.latencyCount = latencyCount;
+                sink = readSum;
+            }, "Benchmark-" + t);
+            threads[t].start();
+        }
+
+        deadline[0] = System.nanoTime() + durationMillis * 1_000_000;
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return results;
+    }
+
+    private static void print(Implementation implementation, int size, int threads, int readPercent, String writeMode,
+                              List<WorkerResult> results, long durationMillis) {
+        long operations = 0;
+        long blocked = 0;
+        long waited = 0;
+        int latencyCount = 0;
+        for (WorkerResult result : results) {
+            operations += result.operations;
+            blocked += result.blockedCount;
+            waited += result.waitedCount;
+            latencyCount += result.latencyCount;
+        }
+        long[] latencies = new long[latencyCount];
+        int position = 0;
+        for (WorkerResult result : results) {
+            System.arraycopy(result.latencies, 0, latencies, position, result.latencyCount);
+            position += result.latencyCount;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%-13s | %8d | %6d | %8d | %6s | %8.2f | %6d | %6d | %8d | %7d | %6d%n",
+            implementation, size, threads, readPercent, readPercent == 100 ? "-" : writeMode,
+            operations / (durationMillis * 1000.0), percentile(latencies, 50), percentile(latencies, 99),
+            percentile(latencies, 99.9), blocked, waited);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,127 @@
+package concurrent;
+
+import functions.AbstractTabulatedFunction;
+import functions.ArrayTabulatedFunction;
+import functions.DualNumber;
+import functions.Insertable;
+import functions.Point;
+import functions.Removable;
+import functions.TabulatedFunction;
+import java.util.Iterator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Табулированная функция с копированием при записи: читатели работают с неизменяемым снимком
+// через volatile-ссылку без блокировок, писатели публикуют новую версию таблицы
+public class CopyOnWriteTabulatedFunction implements TabulatedFunction, Insertable, Removable {
+    private static final Logger logger = LogManager.getLogger(CopyOnWriteTabulatedFunction.class);
+
+    // Опубликованный снимок никогда не изменяется
+    private volatile ArrayTabulatedFunction snapshot;
+    private final Object writeLock = new Object();
+
+    public CopyOnWriteTabulatedFunction(double[] xValues, double[] yValues) {
+        this.snapshot = new ArrayTabulatedFunction(xValues, yValues);
+    }
+
+    public CopyOnWriteTabulatedFunction(TabulatedFunction function) {
+        this.snapshot = copyOf(function);
+        logger.debug("Создан CopyOnWriteTabulatedFunction из функции типа: {}, количество точек: {}",
+            function.getClass().getSimpleName(), function.getCount());
+    }
+
+    // Пакетное изменение черновой копии таблицы, публикуемой одной версией
+    public interface Operation {
+        void apply(ArrayTabulatedFunction draft);
+    }
+
+    private static ArrayTabulatedFunction copyOf(TabulatedFunction function) {
+        double[][] values = AbstractTabulatedFunction.valuesOf(function);
+        return new ArrayTabulatedFunction(values[0], values[1]);
+    }
+
+    // Все изменения в операции копируют таблицу один раз; черновик нельзя сохранять после вызова
+    public void update(Operation operation) {
+        synchronized (writeLock) {
+            ArrayTabulatedFunction draft = copyOf(snapshot);
+            operation.apply(draft);
+            if (draft.getCount() < 2) {
+                logger.error("Пакетное изменение оставило {} точек, версия не опубликована", draft.getCount());
+                throw new IllegalStateException("Таблица должна содержать не менее 2 точек");
+            }
+            snapshot = draft;
+            logger.trace("Опубликована новая версия таблицы, количество точек: {}", draft.getCount());
+        }
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        update(draft -> draft.setY(index, value));
+    }
+
+    @Override
+    public void insert(double x, double y) {
+        update(draft -> draft.insert(x, y));
+    }
+
+    @Override
+    public void remove(int index) {
+        update(draft -> draft.remove(index));
+    }
+
+    @Override
+    public int getCount() {
+        return snapshot.getCount();
+    }
+
+    @Override
+    public double getX(int index) {
+        return snapshot.getX(index);
+    }
+
+    @Override
+    public double getY(int index) {
+        return snapshot.getY(index);
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        return snapshot.indexOfX(x);
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        return snapshot.indexOfY(y);
+    }
+
+    @Override
+    public double leftBound() {
+        return snapshot.leftBound();
+    }
+
+    @Override
+    public double rightBound() {
+        return snapshot.rightBound();
+    }
+
+    @Override
+    public double apply(double x) {
+        return snapshot.apply(x);
+    }
+
+    @Override
+    public boolean isDifferentiable() {
+        return true;
+    }
+
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return snapshot.applyDual(x);
+    }
+
+    // Итератор обходит снимок, действовавший на момент вызова, без копирования
+    @Override
+    public Iterator<Point> iterator() {
+        return snapshot.iterator();
+    }
+}
@@ -0,0 +1,75 @@
+package concurrent;
+
+import java.util.Arrays;
+
+// Итоги выполнения набора задач: количество, пропускная способность и задержки
+public class ExecutionReport {
+    private final int completed;
+    private final int failed;
+    private final int cancelled;
+    private final long elapsedNanos;
+    private final long[] latenciesNanos;
+
+    public ExecutionReport(int completed, int failed, int cancelled, long elapsedNanos, long[] latenciesNanos) {
+        this.completed = completed;
+        this.failed = failed;
+        this.cancelled = cancelled;
+        this.elapsedNanos = elapsedNanos;
+        this.latenciesNanos = latenciesNanos.clone();
+        Arrays.sort(this.latenciesNanos);
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getCancelled() {
+        return cancelled;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Завершенных задач в секунду
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : completed * 1e9 / elapsedNanos;
+    }
+
+    public double getMeanLatencyMillis() {
+        if (latenciesNanos.length == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (long latency : latenciesNanos) {
+            sum += latency;
+        }
+        return sum / 1e6 / latenciesNanos.length;
+    }
+
+    // Задержка от отправки до завершения задачи для заданного процентиля (0..100)
+    public double getLatencyPercentileMillis(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * latenciesNanos.length) - 1;
+        index = Math.max(0, Math.min(latenciesNanos.length - 1, index));
+        return latenciesNanos[index] / 1e6;
+    }
+
+    public double getMaxLatencyMillis() {
+        return latenciesNanos.length == 0 ? 0 : latenciesNanos[latenciesNanos.length - 1] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Завершено: %d, с ошибкой: %d, отменено: %d, время: %.2f мс, пропускная способность: %.1f задач/с, "
+                + "задержка (мс): средняя %.3f, p50 %.3f, p99 %.3f, макс %.3f",
+            completed, failed, cancelled, elapsedNanos / 1e6, getThroughput(), getMeanLatencyMillis(),
+            getLatencyPercentileMillis(50), getLatencyPercentileMillis(99), getMaxLatencyMillis());
+    }
+}
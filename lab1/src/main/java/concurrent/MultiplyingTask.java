@@ -16,13 +16,22 @@ public class MultiplyingTask implements Runnable {
     public void run() {
         logger.info("Запуск MultiplyingTask в потоке: {}, количество точек: {}", 
             Thread.currentThread().getName(), function.getCount());
-        for (int i = 0; i < function.getCount(); i++) {
-            synchronized (function) {
-                double currentY = function.getY(i);
-                double newY = currentY * 2;
-                function.setY(i, newY);
-                logger.trace("Поток {} умножил значение в точке {}: {} -> {}", 
-                    Thread.currentThread().getName(), i, currentY, newY);
+        if (function instanceof AtomicTabulatedFunction) {
+            // Обновления через CAS не теряются и не требуют блокировки
+            ((AtomicTabulatedFunction) function).updateAll(y -> y * 2);
+        } else {
+            for (int i = 0; i < function.getCount(); i++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    logger.warn("MultiplyingTask прервана в потоке {} на точке {}", Thread.currentThread().getName(), i);
+                    return;
+                }
+                synchronized (function) {
+                    double currentY = function.getY(i);
+                    double newY = currentY * 2;
+                    function.setY(i, newY);
+                    logger.trace("Поток {} умножил значение в точке {}: {} -> {}", 
+                        Thread.currentThread().getName(), i, currentY, newY);
+                }
             }
         }
 
@@ -3,8 +3,6 @@ package concurrent;
 import functions.*;
 import functions.factory.LinkedListTabulatedFunctionFactory;
 import functions.factory.TabulatedFunctionFactory;
-import java.util.ArrayList;
-import java.util.List;
 
 
 public class MultiplyingTaskExecutor {
@@ -21,25 +19,15 @@ public class MultiplyingTaskExecutor {
             System.out.printf("x = %.1f, y = %.1f%n", function.getX(i), function.getY(i));
         }
 
-        // Создание списка потоков
-        List<Thread> threads = new ArrayList<>();
-
-        // Создание 10 задач MultiplyingTask и потоков для них
-        for (int i = 0; i < 10; i++) {
-            MultiplyingTask task = new MultiplyingTask(function);
-            Thread thread = new Thread(task, "Multiplier-" + (i + 1));
-            threads.add(thread);
-        }
-
-        // Старт всех потоков
-        for (Thread thread : threads) {
-            thread.start();
-        }
-
-        // Усыпление текущего потока на 2 секунды
-        try {
-            Thread.sleep(2000);
+        // Запуск 10 задач MultiplyingTask с ожиданием их завершения
+        try (TaskExecutionService service = new TaskExecutionService()) {
+            for (int i = 0; i < 10; i++) {
+                service.submit("Multiplier-" + (i + 1), new MultiplyingTask(function));
+            }
+            ExecutionReport report = service.awaitCompletion();
+            System.out.println("\n" + report);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             e.printStackTrace();
         }
 
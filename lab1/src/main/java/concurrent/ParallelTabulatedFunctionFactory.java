@@ -0,0 +1,132 @@
+package concurrent;
+
+import functions.MathFunction;
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class ParallelTabulatedFunctionFactory implements TabulatedFunctionFactory, AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(ParallelTabulatedFunctionFactory.class);
+    private static final int DEFAULT_THRESHOLD = 64;
+
+    private final TabulatedFunctionFactory factory;
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+    private final int threshold;
+
+    // Использует общий пул ForkJoinPool.commonPool()
+    public ParallelTabulatedFunctionFactory(TabulatedFunctionFactory factory) {
+        this(factory, ForkJoinPool.commonPool(), false, DEFAULT_THRESHOLD);
+    }
+
+    // Создает собственный пул с заданным уровнем параллелизма, его нужно закрыть через close()
+    public ParallelTabulatedFunctionFactory(TabulatedFunctionFactory factory, int parallelism) {
+        this(factory, new ForkJoinPool(parallelism), true, DEFAULT_THRESHOLD);
+    }
+
+    public ParallelTabulatedFunctionFactory(TabulatedFunctionFactory factory, ForkJoinPool pool, int threshold) {
+        this(factory, pool, false, threshold);
+    }
+
+    private ParallelTabulatedFunctionFactory(TabulatedFunctionFactory factory, ForkJoinPool pool,
+                                             boolean ownPool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Порог разбиения должен быть положительным: " + threshold);
+        }
+        this.factory = factory;
+        this.pool = pool;
+        this.ownPool = ownPool;
+        this.threshold = threshold;
+        logger.debug("Создана ParallelTabulatedFunctionFactory поверх {}, параллелизм: {}",
+            factory.getClass().getSimpleName(), pool.getParallelism());
+    }
+
+    public TabulatedFunctionFactory getFactory() {
+        return factory;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public TabulatedFunction create(double[] xValues, double[] yValues) {
+        return factory.create(xValues, yValues);
+    }
+
+    @Override
+    public TabulatedFunction create(MathFunction source, double xFrom, double xTo, int count) {
+        logger.info("Параллельная табуляция функции {}, диапазон: [{}, {}], количество точек: {}, параллелизм: {}",
+            source.getClass().getSimpleName(), xFrom, xTo, count, pool.getParallelism());
+        if (count < 2) {
+            logger.error("Попытка создать функцию с менее чем 2 точками: {}", count);
+            throw new IllegalArgumentException("Количество точек должно быть не меньше 2");
+        }
+
+        if (xFrom > xTo) {
+            double temp = xFrom;
+            xFrom = xTo;
+            xTo = temp;
+        }
+
+        if (xFrom == xTo) {
+            // Совпадающие x не пройдут проверку упорядоченности в create(xValues, yValues),
+            // такой диапазон принимают только последовательные конструкторы; вычисление одно
+            return factory.create(source, xFrom, xTo, count);
+        }
+
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        // x вычисляются по той же формуле, что и в последовательных конструкторах
+        double step = (xTo - xFrom) / (count - 1);
+        for (int i = 0; i < count; i++) {
+            xValues[i] = xFrom + i * step;
+        }
+        pool.invoke(new TabulationTask(source, xValues, yValues, 0, count));
+
+        TabulatedFunction result = factory.create(xValues, yValues);
+        logger.info("Параллельная табуляция завершена, тип результата: {}", result.getClass().getSimpleName());
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (ownPool) {
+            pool.shutdown();
+        }
+    }
+
+    private class TabulationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MathFunction source;
+        private final double[] xValues;
+        private final double[] yValues;
+        private final int from;
+        private final int to;
+
+        TabulationTask(MathFunction source, double[] xValues, double[] yValues, int from, int to) {
+            this.source = source;
+            this.xValues = xValues;
+            this.yValues = yValues;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    yValues[i] = source.apply(xValues[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TabulationTask(source, xValues, yValues, from, middle),
+                new TabulationTask(source, xValues, yValues, middle, to));
+        }
+    }
+}
@@ -19,6 +19,10 @@ public class ReadTask implements Runnable {
         logger.info("Запуск ReadTask в потоке: {}, количество точек: {}", 
             Thread.currentThread().getName(), function.getCount());
         for (int i = 0; i < function.getCount(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                logger.warn("ReadTask прервана в потоке {} на точке {}", Thread.currentThread().getName(), i);
+                return;
+            }
             synchronized (monitor) {
                 double x = function.getX(i);
                 double y = function.getY(i);
@@ -14,16 +14,12 @@ public class ReadWriteTaskExecutor {
         ReadTask readTask = new ReadTask(function, monitor);
         WriteTask writeTask = new WriteTask(function, 0.5, monitor);
 
-        Thread readThread = new Thread(readTask);
-        Thread writeThread = new Thread(writeTask);
-
-        readThread.start();
-        writeThread.start();
-
-        try {
-            readThread.join();
-            writeThread.join();
+        try (TaskExecutionService service = new TaskExecutionService(2)) {
+            service.submit("Reader", readTask);
+            service.submit("Writer", writeTask);
+            System.out.println(service.awaitCompletion());
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             e.printStackTrace();
         }
 
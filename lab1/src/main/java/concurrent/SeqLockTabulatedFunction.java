@@ -0,0 +1,264 @@
+package concurrent;
+
+import functions.AbstractTabulatedFunction;
+import functions.Point;
+import functions.TabulatedFunction;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Табулированная функция с фиксированной сеткой x под sequence lock: писатель (рассчитано на одного)
+// делает счетчик нечетным на время записи, читатели не блокируются и ничего не пишут в общую память,
+// а повторяют чтение, если счетчик изменился. Значения в окне интерполяции читаются согласованно.
+public class SeqLockTabulatedFunction extends AbstractTabulatedFunction {
+    private static final Logger logger = LogManager.getLogger(SeqLockTabulatedFunction.class);
+    private static final VarHandle Y_VALUES = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final VarHandle SEQUENCE;
+    // После стольких неудачных попыток итератор копирует таблицу под блокировкой писателя
+    private static final int MAX_OPTIMISTIC_COPY_ATTEMPTS = 8;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(SeqLockTabulatedFunction.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final double[] xValues;
+    private final double[] yValues;
+    // Нечетное значение - идет запись
+    private volatile long sequence;
+    // Писатели упорядочиваются между собой, читатели эту блокировку не берут
+    private final Object writeLock = new Object();
+
+    public SeqLockTabulatedFunction(double[] xValues, double[] yValues) {
+        logger.info("Создание SeqLockTabulatedFunction из массивов, размер: {}", xValues.length);
+        if (xValues.length < 2) {
+            logger.error("Попытка создать функцию с менее чем 2 точками: {}", xValues.length);
+            throw new IllegalArgumentException("Длина таблицы должна быть не менее 2 точек");
+        }
+        checkLengthIsTheSame(xValues, yValues);
+        checkSorted(xValues);
+
+        this.count = xValues.length;
+        this.xValues = xValues.clone();
+        this.yValues = yValues.clone();
+    }
+
+    public SeqLockTabulatedFunction(TabulatedFunction function) {
+        this(valuesOf(function));
+    }
+
+    private SeqLockTabulatedFunction(double[][] values) {
+        this(values[0], values[1]);
+    }
+
+    // Начало записи: счетчик становится нечетным до изменения данных
+    private long beginWrite() {
+        long current = (long) SEQUENCE.getOpaque(this);
+        SEQUENCE.setOpaque(this, current + 1);
+        VarHandle.storeStoreFence();
+        return current;
+    }
+
+    // Конец записи: данные публикуются вместе с новым четным значением счетчика
+    private void endWrite(long started) {
+        SEQUENCE.setRelease(this, started + 2);
+    }
+
+    // Начало чтения: ожидание окончания текущей записи без блокировки
+    private long beginRead() {
+        while (true) {
+            long current = (long) SEQUENCE.getAcquire(this);
+            if ((current & 1) == 0) {
+                return current;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Прочитанные после beginRead значения действительны, если счетчик не изменился
+    private boolean validate(long started) {
+        VarHandle.loadLoadFence();
+        return (long) SEQUENCE.getOpaque(this) == started;
+    }
+
+    private double readY(int index) {
+        return (double) Y_VALUES.getOpaque(yValues, index);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + count);
+        }
+        synchronized (writeLock) {
+            long started = beginWrite();
+            Y_VALUES.setOpaque(yValues, index, value);
+            endWrite(started);
+        }
+    }
+
+    // Замена всех значений y одной записью: читатели видят либо старую, либо новую таблицу целиком
+    public void setAll(double[] values) {
+        if (values.length != count) {
+            logger.error("Размер нового массива {} не совпадает с количеством точек {}", values.length, count);
+            throw new IllegalArgumentException("Размер массива значений должен совпадать с количеством точек");
+        }
+        synchronized (writeLock) {
+            long started = beginWrite();
+            for (int i = 0; i < values.length; i++) {
+                Y_VALUES.setOpaque(yValues, i, values[i]);
+            }
+            endWrite(started);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public double getX(int index) {
+        return xValues[index];
+    }
+
+    @Override
+    public double getY(int index) {
+        // Одно значение читается атомарно и без повторов
+        return readY(index);
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        int index = floorIndex(x);
+        return index >= 0 && xValues[index] == x ? index : -1;
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        double[] values = copyOfY();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public double leftBound() {
+        return xValues[0];
+    }
+
+    @Override
+    public double rightBound() {
+        return xValues[count - 1];
+    }
+
+    // Последний индекс с xValues[i] <= x, -1 если x левее таблицы
+    private int floorIndex(double x) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (xValues[middle] <= x) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    protected int floorIndexOfX(double x) {
+        if (x < xValues[0]) {
+            logger.error("x={} меньше левой границы {}", x, xValues[0]);
+            throw new IllegalArgumentException("x меньше левой границы: " + x + " < " + xValues[0]);
+        }
+        return floorIndex(x);
+    }
+
+    // Интерполяция по паре соседних узлов, значения которых прочитаны в одной версии таблицы
+    private double interpolateConsistently(double x, int leftIndex) {
+        while (true) {
+            long started = beginRead();
+            double leftY = readY(leftIndex);
+            double rightY = readY(leftIndex + 1);
+            if (validate(started)) {
+                return interpolate(x, xValues[leftIndex], xValues[leftIndex + 1], leftY, rightY);
+            }
+        }
+    }
+
+    @Override
+    protected double extrapolateLeft(double x) {
+        return interpolateConsistently(x, 0);
+    }
+
+    @Override
+    protected double extrapolateRight(double x) {
+        return interpolateConsistently(x, count - 2);
+    }
+
+    @Override
+    protected double interpolate(double x, int floorIndex) {
+        return interpolateConsistently(x, floorIndex);
+    }
+
+    // Согласованная копия всех значений y; при постоянной записи копирование выполняется под блокировкой писателя
+    private double[] copyOfY() {
+        double[] result = new double[count];
+        for (int attempt = 0; attempt < MAX_OPTIMISTIC_COPY_ATTEMPTS; attempt++) {
+            long started = beginRead();
+            for (int i = 0; i < count; i++) {
+                result[i] = readY(i);
+            }
+            if (validate(started)) {
+                return result;
+            }
+        }
+        logger.debug("Оптимистичное копирование не удалось за {} попыток, копирование под блокировкой",
+            MAX_OPTIMISTIC_COPY_ATTEMPTS);
+        synchronized (writeLock) {
+            for (int i = 0; i < count; i++) {
+                result[i] = readY(i);
+            }
+        }
+        return result;
+    }
+
+    // Итератор обходит согласованную копию таблицы
+    @Override
+    public Iterator<Point> iterator() {
+        double[] values = copyOfY();
+        return new Iterator<Point>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < count;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет больше элементов");
+                }
+                Point point = new Point(xValues[i], values[i]);
+                i++;
+                return point;
+            }
+        };
+    }
+}
@@ -0,0 +1,210 @@
+package concurrent;
+
+import functions.DualNumber;
+import functions.Point;
+import functions.TabulatedFunction;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Потокобезопасная обертка: чтения идут без блокировки с проверкой штампа StampedLock,
+// при конфликте с писателем чтение повторяется под обычной блокировкой чтения
+public class StampedTabulatedFunction implements TabulatedFunction {
+    private static final Logger logger = LogManager.getLogger(StampedTabulatedFunction.class);
+    private final TabulatedFunction function;
+    private final StampedLock lock = new StampedLock();
+
+    public StampedTabulatedFunction(TabulatedFunction function) {
+        this.function = function;
+        logger.debug("Создан StampedTabulatedFunction для функции типа: {}, количество точек: {}",
+            function.getClass().getSimpleName(), function.getCount());
+    }
+
+    // Операция получает саму обернутую функцию: StampedLock не реентерабелен,
+    // поэтому внутри операции нельзя обращаться к методам обертки
+    public interface Operation<T> {
+        T apply(TabulatedFunction function);
+    }
+
+    private double readDouble(DoubleSupplier reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                double result = reader.getAsDouble();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Данные менялись во время чтения, ниже повторим под блокировкой
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.getAsDouble();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int readInt(IntSupplier reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int result = reader.getAsInt();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.getAsInt();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        logger.trace("Оптимистичное чтение не удалось, повтор под блокировкой чтения");
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return readInt(function::getCount);
+    }
+
+    @Override
+    public double getX(int index) {
+        return readDouble(() -> function.getX(index));
+    }
+
+    @Override
+    public double getY(int index) {
+        return readDouble(() -> function.getY(index));
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        long stamp = lock.writeLock();
+        try {
+            function.setY(index, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        return readInt(() -> function.indexOfX(x));
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        return readInt(() -> function.indexOfY(y));
+    }
+
+    @Override
+    public double leftBound() {
+        return readDouble(function::leftBound);
+    }
+
+    @Override
+    public double rightBound() {
+        return readDouble(function::rightBound);
+    }
+
+    @Override
+    public double apply(double x) {
+        return readDouble(() -> function.apply(x));
+    }
+
+    @Override
+    public boolean isDifferentiable() {
+        return function.isDifferentiable();
+    }
+
+    // Значение и производная снимаются за одно согласованное чтение
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return read(() -> function.applyDual(x));
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        logger.debug("Создание итератора для StampedTabulatedFunction");
+        // Согласованная копия точек, снятая оптимистично или под блокировкой чтения
+        Point[] pointsCopy = read(() -> {
+            Point[] points = new Point[function.getCount()];
+            int i = 0;
+            for (Point point : function) {
+                points[i++] = point;
+            }
+            return points;
+        });
+
+        return new Iterator<Point>() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < pointsCopy.length;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements in iterator");
+                }
+                return pointsCopy[currentIndex++];
+            }
+        };
+    }
+
+    // Составная операция под исключительной блокировкой, аналог doSynchronously
+    public <T> T doSynchronously(Operation<? extends T> operation) {
+        logger.debug("Выполнение операции под блокировкой записи StampedTabulatedFunction");
+        long stamp = lock.writeLock();
+        try {
+            return operation.apply(function);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Составная операция только на чтение: сначала без блокировки, при конфликте - под блокировкой чтения.
+    // Операция может выполниться дважды, поэтому не должна иметь побочных эффектов
+    public <T> T doReading(Operation<? extends T> operation) {
+        return read(() -> operation.apply(function));
+    }
+}
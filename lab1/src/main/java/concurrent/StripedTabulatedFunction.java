@@ -0,0 +1,357 @@
+package concurrent;
+
+import functions.AbstractTabulatedFunction;
+import functions.DualNumber;
+import functions.Insertable;
+import functions.Point;
+import functions.Removable;
+import functions.TabulatedFunction;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleUnaryOperator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Табулированная функция с разбиением блокировок по диапазонам индексов: потоки, изменяющие
+// непересекающиеся диапазоны, не мешают друг другу. Структурные операции берут все полосы.
+public class StripedTabulatedFunction implements TabulatedFunction, Insertable, Removable {
+    private static final Logger logger = LogManager.getLogger(StripedTabulatedFunction.class);
+
+    private final ReentrantLock[] stripes;
+    // Массивы заменяются целиком только при удерживаемых всех полосах, длина массивов равна количеству точек
+    private volatile double[] xValues;
+    private volatile double[] yValues;
+    private volatile int stripeWidth;
+    // Увеличивается каждой структурной операцией, позволяет проверить индекс после захвата полосы
+    private volatile int version;
+
+    public StripedTabulatedFunction(double[] xValues, double[] yValues, int stripeCount) {
+        logger.info("Создание StripedTabulatedFunction, количество точек: {}, полос: {}", xValues.length, stripeCount);
+        if (xValues.length < 2) {
+            logger.error("Попытка создать функцию с менее чем 2 точками: {}", xValues.length);
+            throw new IllegalArgumentException("Длина таблицы должна быть не менее 2 точек");
+        }
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Количество полос должно быть положительным: " + stripeCount);
+        }
+        AbstractTabulatedFunction.checkLengthIsTheSame(xValues, yValues);
+        AbstractTabulatedFunction.checkSorted(xValues);
+
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.xValues = xValues.clone();
+        this.yValues = yValues.clone();
+        this.stripeWidth = widthFor(xValues.length);
+    }
+
+    public StripedTabulatedFunction(TabulatedFunction function, int stripeCount) {
+        this(AbstractTabulatedFunction.valuesOf(function), stripeCount);
+    }
+
+    private StripedTabulatedFunction(double[][] values, int stripeCount) {
+        this(values[0], values[1], stripeCount);
+    }
+
+    public StripedTabulatedFunction(TabulatedFunction function) {
+        this(function, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    private int widthFor(int count) {
+        return (count + stripes.length - 1) / stripes.length;
+    }
+
+    private int stripeOf(int index) {
+        return Math.min(index / stripeWidth, stripes.length - 1);
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    // Захват полосы индекса; если за это время прошла структурная операция - повтор
+    private int lockIndex(int index) {
+        while (true) {
+            int currentVersion = version;
+            int stripe = stripeOf(index);
+            stripes[stripe].lock();
+            if (version == currentVersion) {
+                return stripe;
+            }
+            stripes[stripe].unlock();
+        }
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    private static void checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + count);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return xValues.length;
+    }
+
+    @Override
+    public double getX(int index) {
+        return xValues[index];
+    }
+
+    @Override
+    public double getY(int index) {
+        int stripe = lockIndex(index);
+        try {
+            double[] ys = yValues;
+            checkIndex(index, ys.length);
+            return ys[index];
+        } finally {
+            stripes[stripe].unlock();
+        }
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        int stripe = lockIndex(index);
+        try {
+            double[] ys = yValues;
+            checkIndex(index, ys.length);
+            ys[index] = value;
+        } finally {
+            stripes[stripe].unlock();
+        }
+    }
+
+    // Чтение-изменение-запись одной точки под полосой ее индекса, возвращает новое значение
+    public double updateY(int index, DoubleUnaryOperator operator) {
+        int stripe = lockIndex(index);
+        try {
+            double[] ys = yValues;
+            checkIndex(index, ys.length);
+            ys[index] = operator.applyAsDouble(ys[index]);
+            return ys[index];
+        } finally {
+            stripes[stripe].unlock();
+        }
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        double[] xs = xValues;
+        int index = floorIndex(xs, x);
+        return index >= 0 && xs[index] == x ? index : -1;
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        lockAll();
+        try {
+            double[] ys = yValues;
+            for (int i = 0; i < ys.length; i++) {
+                if (ys[i] == y) {
+                    return i;
+                }
+            }
+            return -1;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public double leftBound() {
+        return xValues[0];
+    }
+
+    @Override
+    public double rightBound() {
+        double[] xs = xValues;
+        return xs[xs.length - 1];
+    }
+
+    // Последний индекс с xs[i] <= x, -1 если x левее таблицы
+    private static int floorIndex(double[] xs, double x) {
+        int low = 0;
+        int high = xs.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (xs[middle] <= x) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    public double apply(double x) {
+        return evaluate(x, 0.0).getValue();
+    }
+
+    @Override
+    public boolean isDifferentiable() {
+        return true;
+    }
+
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return evaluate(x.getValue(), x.getDerivative());
+    }
+
+    // Значение и наклон берутся из одного отрезка под его полосами, поэтому производная
+    // согласована со значением даже при конкурентной записи соседних точек
+    private DualNumber evaluate(double x, double derivative) {
+        while (true) {
+            int currentVersion = version;
+            double[] xs = xValues;
+            int count = xs.length;
+
+            // Пара узлов, по которой вычисляется значение (как в AbstractTabulatedFunction)
+            int left;
+            if (x < xs[0]) {
+                left = 0;
+            } else if (x > xs[count - 1]) {
+                left = count - 2;
+            } else {
+                left = Math.min(floorIndex(xs, x), count - 2);
+            }
+            int right = left + 1;
+
+            int firstStripe = stripeOf(left);
+            int secondStripe = stripeOf(right);
+            stripes[firstStripe].lock();
+            if (secondStripe != firstStripe) {
+                stripes[secondStripe].lock();
+            }
+            try {
+                if (version != currentVersion) {
+                    continue;
+                }
+                double[] ys = yValues;
+                // Кусочно-линейная производная: наклон отрезка, содержащего x (в узлах - правый отрезок)
+                double slope = (ys[right] - ys[left]) / (xs[right] - xs[left]);
+                double value;
+                if (x == xs[left]) {
+                    value = ys[left];
+                } else if (x == xs[right]) {
+                    value = ys[right];
+                } else {
+                    value = ys[left] + (ys[right] - ys[left]) * (x - xs[left]) / (xs[right] - xs[left]);
+                }
+                return new DualNumber(value, slope * derivative);
+            } finally {
+                if (secondStripe != firstStripe) {
+                    stripes[secondStripe].unlock();
+                }
+                stripes[firstStripe].unlock();
+            }
+        }
+    }
+
+    @Override
+    public void insert(double x, double y) {
+        logger.info("Вставка точки ({}, {}) в StripedTabulatedFunction", x, y);
+        lockAll();
+        try {
+            double[] xs = xValues;
+            double[] ys = yValues;
+            int floor = floorIndex(xs, x);
+            if (floor >= 0 && xs[floor] == x) {
+                ys[floor] = y;
+                return;
+            }
+            int insertIndex = floor + 1;
+            double[] newXValues = new double[xs.length + 1];
+            double[] newYValues = new double[xs.length + 1];
+            System.arraycopy(xs, 0, newXValues, 0, insertIndex);
+            System.arraycopy(ys, 0, newYValues, 0, insertIndex);
+            newXValues[insertIndex] = x;
+            newYValues[insertIndex] = y;
+            System.arraycopy(xs, insertIndex, newXValues, insertIndex + 1, xs.length - insertIndex);
+            System.arraycopy(ys, insertIndex, newYValues, insertIndex + 1, xs.length - insertIndex);
+            publish(newXValues, newYValues);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public void remove(int index) {
+        logger.info("Удаление точки с индексом {} из StripedTabulatedFunction", index);
+        lockAll();
+        try {
+            double[] xs = xValues;
+            double[] ys = yValues;
+            checkIndex(index, xs.length);
+            if (xs.length <= 2) {
+                logger.error("Попытка удалить точку из таблицы с {} точками", xs.length);
+                throw new IllegalStateException("Таблица должна содержать не менее 2 точек");
+            }
+            double[] newXValues = new double[xs.length - 1];
+            double[] newYValues = new double[xs.length - 1];
+            System.arraycopy(xs, 0, newXValues, 0, index);
+            System.arraycopy(ys, 0, newYValues, 0, index);
+            System.arraycopy(xs, index + 1, newXValues, index, xs.length - index - 1);
+            System.arraycopy(ys, index + 1, newYValues, index, xs.length - index - 1);
+            publish(newXValues, newYValues);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // Вызывается при удерживаемых всех полосах
+    private void publish(double[] newXValues, double[] newYValues) {
+        xValues = newXValues;
+        yValues = newYValues;
+        stripeWidth = widthFor(newXValues.length);
+        version++;
+        logger.debug("Структура таблицы изменена, количество точек: {}, версия: {}", newXValues.length, version);
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        double[] xs;
+        double[] ys;
+        lockAll();
+        try {
+            xs = xValues;
+            ys = yValues.clone();
+        } finally {
+            unlockAll();
+        }
+
+        return new Iterator<Point>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < xs.length;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет больше элементов");
+                }
+                Point point = new Point(xs[i], ys[i]);
+                i++;
+                return point;
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package concurrent;
+
+import functions.ArrayTabulatedFunction;
+import functions.TabulatedFunction;
+import functions.UnitFunction;
+
+public class StripedTabulatedFunctionBenchmark {
+    private static final int POINTS = 1 << 16;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Писатели | Synchronized (млн оп/с) | Striped (млн оп/с) | Ускорение");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            // Прогрев
+            run(new SynchronizedTabulatedFunction(createFunction()), threads);
+            run(new StripedTabulatedFunction(createFunction(), threads * 4), threads);
+
+            double synchronizedRate = run(new SynchronizedTabulatedFunction(createFunction()), threads);
+            double stripedRate = run(new StripedTabulatedFunction(createFunction(), threads * 4), threads);
+            System.out.printf("%8d | %23.2f | %18.2f | %8.2fx%n",
+                threads, synchronizedRate, stripedRate, stripedRate / synchronizedRate);
+        }
+    }
+
+    private static TabulatedFunction createFunction() {
+        return new ArrayTabulatedFunction(new UnitFunction(), 0, POINTS - 1, POINTS);
+    }
+
+    // Каждый поток изменяет свой непересекающийся диапазон индексов, результат - млн setY в секунду
+    private static double run(TabulatedFunction function, int threadCount) throws InterruptedException {
+        Thread[] threads = new Thread[threadCount];
+        int range = POINTS / threadCount;
+        for (int t = 0; t < threadCount; t++) {
+            int from = t * range;
+            int to = from + range;
+            threads[t] = new Thread(() -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (int i = from; i < to; i++) {
+                        function.setY(i, round + i);
+                    }
+                }
+            }, "Writer-" + t);
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return (double) range * threadCount * ROUNDS / elapsed * 1000;
+    }
+}
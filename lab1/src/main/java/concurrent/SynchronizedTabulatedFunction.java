@@ -1,7 +1,9 @@
 package concurrent;
 
+import functions.DualNumber;
 import functions.TabulatedFunction;
 import functions.Point;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import operations.TabulatedFunctionOperationService;
 import java.util.NoSuchElementException;
@@ -11,6 +13,8 @@ import org.apache.logging.log4j.Logger;
 public class SynchronizedTabulatedFunction implements TabulatedFunction {
     private static final Logger logger = LogManager.getLogger(SynchronizedTabulatedFunction.class);
     private final TabulatedFunction function;
+    // Счетчик изменений через обертку, защищен монитором this
+    private long modificationCount;
 
     public SynchronizedTabulatedFunction(TabulatedFunction function) {
         this.function = function;
@@ -22,6 +26,14 @@ public class SynchronizedTabulatedFunction implements TabulatedFunction {
         T apply(SynchronizedTabulatedFunction function);
     }
 
+    // Поведение порционного итератора при изменении таблицы во время обхода
+    public enum IterationMode {
+        // ConcurrentModificationException, если таблица изменилась между порциями
+        FAIL_FAST,
+        // Каждая порция согласована сама по себе, изменения между порциями допускаются
+        WEAKLY_CONSISTENT
+    }
+
     @Override
     public synchronized int getCount() {
         return function.getCount();
@@ -40,6 +52,11 @@ public class SynchronizedTabulatedFunction implements TabulatedFunction {
     @Override
     public synchronized void setY(int index, double value) {
         function.setY(index, value);
+        modificationCount++;
+    }
+
+    public synchronized long getModificationCount() {
+        return modificationCount;
     }
 
     @Override
@@ -67,6 +84,16 @@ public class SynchronizedTabulatedFunction implements TabulatedFunction {
         return function.apply(x);
     }
 
+    @Override
+    public synchronized boolean isDifferentiable() {
+        return function.isDifferentiable();
+    }
+
+    @Override
+    public synchronized DualNumber applyDual(DualNumber x) {
+        return function.applyDual(x);
+    }
+
     @Override
     public synchronized Iterator<Point> iterator() {
         logger.debug("Создание итератора для SynchronizedTabulatedFunction");
@@ -93,6 +120,75 @@ public class SynchronizedTabulatedFunction implements TabulatedFunction {
             }
         };
     }
+
+    // Копирует до xBuffer.length точек начиная с fromIndex под одной короткой блокировкой,
+    // возвращает количество скопированных точек
+    public synchronized int exportChunk(int fromIndex, double[] xBuffer, double[] yBuffer) {
+        if (xBuffer.length != yBuffer.length) {
+            throw new IllegalArgumentException("Буферы должны иметь одинаковую длину");
+        }
+        int length = Math.max(0, Math.min(xBuffer.length, function.getCount() - fromIndex));
+        for (int i = 0; i < length; i++) {
+            xBuffer[i] = function.getX(fromIndex + i);
+            yBuffer[i] = function.getY(fromIndex + i);
+        }
+        return length;
+    }
+
+    // Итератор по живой таблице: точки читаются порциями по chunkSize, блокировка держится только на время
+    // копирования одной порции. Проверка версии выполняется при загрузке каждой порции.
+    public Iterator<Point> chunkedIterator(int chunkSize, IterationMode mode) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Размер порции должен быть положительным: " + chunkSize);
+        }
+        logger.debug("Создание порционного итератора, размер порции: {}, режим: {}", chunkSize, mode);
+
+        return new Iterator<Point>() {
+            private final double[] xBuffer = new double[chunkSize];
+            private final double[] yBuffer = new double[chunkSize];
+            private final long expectedModificationCount = getModificationCount();
+            private int chunkStart = 0;
+            private int chunkLength = 0;
+            private int position = 0;
+
+            private void loadNextChunk() {
+                synchronized (SynchronizedTabulatedFunction.this) {
+                    if (mode == IterationMode.FAIL_FAST && modificationCount != expectedModificationCount) {
+                        logger.warn("Таблица изменилась во время обхода порционным итератором");
+                        throw new ConcurrentModificationException("Таблица изменилась во время обхода");
+                    }
+                    chunkStart += chunkLength;
+                    chunkLength = exportChunk(chunkStart, xBuffer, yBuffer);
+                    position = 0;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (position < chunkLength) {
+                    return true;
+                }
+                if (chunkStart + chunkLength >= getCount()) {
+                    // Таблица закончилась: лишняя порция не загружается, иначе FAIL_FAST бросил бы
+                    // исключение из-за изменения, сделанного уже после обхода всех точек
+                    return false;
+                }
+                loadNextChunk();
+                return position < chunkLength;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements in iterator");
+                }
+                Point point = new Point(xBuffer[position], yBuffer[position]);
+                position++;
+                return point;
+            }
+        };
+    }
+
     public synchronized <T> T doSynchronously(Operation<? extends T> operation) {
         logger.debug("Выполнение синхронной операции над SynchronizedTabulatedFunction");
         T result = operation.apply(this);
@@ -0,0 +1,183 @@
+package concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Выполнение задач вида MultiplyingTask/ReadTask/WriteTask с отслеживанием завершения,
+// отменой и отчетом о пропускной способности. На Java 21+ используются виртуальные потоки,
+// на более старых версиях - пул платформенных потоков.
+public class TaskExecutionService implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(TaskExecutionService.class);
+
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+    // Моменты первой отправки и последнего завершения; System.nanoTime() может быть любым числом,
+    // поэтому наличие значения хранится отдельно, а сравнение идет через разность
+    private final Object timingLock = new Object();
+    private boolean anySubmitted;
+    private long firstSubmitNanos;
+    private boolean anyFinished;
+    private long lastFinishNanos;
+
+    public TaskExecutionService() {
+        ExecutorService virtualExecutor = createVirtualThreadExecutor();
+        this.virtualThreads = virtualExecutor != null;
+        this.executor = virtualThreads ? virtualExecutor : createPlatformExecutor(Runtime.getRuntime().availableProcessors());
+        logger.info("Создан TaskExecutionService, виртуальные потоки: {}", virtualThreads);
+    }
+
+    public TaskExecutionService(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным: " + parallelism);
+        }
+        this.virtualThreads = false;
+        this.executor = createPlatformExecutor(parallelism);
+        logger.info("Создан TaskExecutionService с пулом из {} платформенных потоков", parallelism);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() доступен только начиная с Java 21
+    private static ExecutorService createVirtualThreadExecutor() {
+        if (!isVirtualThreadsSupported()) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService createPlatformExecutor(int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "Worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // В Java 19-20 виртуальные потоки доступны только в режиме preview
+    public static boolean isVirtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Future<?> submit(String name, Runnable task) {
+        long submitted = System.nanoTime();
+        synchronized (timingLock) {
+            if (!anySubmitted) {
+                anySubmitted = true;
+                firstSubmitNanos = submitted;
+            }
+        }
+        // Задаче нужна ссылка на собственный Future, чтобы отличить отмену от обычного завершения
+        Future<?>[] self = new Future<?>[1];
+        FutureTask<Void> future = new FutureTask<>(() -> {
+            Thread thread = Thread.currentThread();
+            String previousName = thread.getName();
+            thread.setName(name);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Задача {} завершилась с ошибкой", name, e);
+                throw e;
+            } finally {
+                // Отмененная задача, вышедшая по прерыванию, в задержки и время выполнения не входит
+                if (!thread.isInterrupted() && !self[0].isCancelled()) {
+                    recordFinish(submitted);
+                }
+                thread.setName(previousName);
+            }
+        }, null);
+        self[0] = future;
+        synchronized (futures) {
+            futures.add(future);
+        }
+        executor.execute(future);
+        logger.debug("Задача {} отправлена на выполнение", name);
+        return future;
+    }
+
+    private void recordFinish(long submitted) {
+        long finished = System.nanoTime();
+        latencies.add(finished - submitted);
+        synchronized (timingLock) {
+            if (!anyFinished || finished - lastFinishNanos > 0) {
+                anyFinished = true;
+                lastFinishNanos = finished;
+            }
+        }
+    }
+
+    // Прерывает выполняющиеся задачи и снимает еще не начатые
+    public void cancelAll() {
+        logger.info("Отмена всех задач");
+        synchronized (futures) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    public ExecutionReport awaitCompletion() throws InterruptedException {
+        try {
+            return awaitCompletion(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public ExecutionReport awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + Math.min(unit.toNanos(timeout), Long.MAX_VALUE / 2);
+        List<Future<?>> snapshot;
+        synchronized (futures) {
+            snapshot = new ArrayList<>(futures);
+        }
+
+        // Итог каждой задачи берется из ее Future, поэтому каждая учитывается ровно в одном счетчике
+        int completed = 0;
+        int failed = 0;
+        int cancelled = 0;
+        for (Future<?> future : snapshot) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                completed++;
+            } catch (CancellationException e) {
+                cancelled++;
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+
+        long[] latencyValues = latencies.stream().mapToLong(Long::longValue).toArray();
+        long elapsed;
+        synchronized (timingLock) {
+            elapsed = anySubmitted && anyFinished ? Math.max(0, lastFinishNanos - firstSubmitNanos) : 0;
+        }
+        ExecutionReport report = new ExecutionReport(completed, failed, cancelled, elapsed, latencyValues);
+        logger.info("Выполнение задач завершено: {}", report);
+        return report;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -21,6 +21,10 @@ public class WriteTask implements Runnable {
         logger.info("Запуск WriteTask в потоке: {}, количество точек: {}, значение для записи: {}", 
             Thread.currentThread().getName(), function.getCount(), value);
         for (int i = 0; i < function.getCount(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                logger.warn("WriteTask прервана в потоке {} на точке {}", Thread.currentThread().getName(), i);
+                return;
+            }
             synchronized (monitor) {
                 function.setY(i, value);
                 logger.debug("Записано значение {} в точку с индексом {}", value, i);
@@ -0,0 +1,22 @@
+package exceptions;
+
+import java.io.IOException;
+
+public class TabulatedFunctionParseException extends IOException {
+    private final int line;
+    private final int column;
+
+    public TabulatedFunctionParseException(String message, int line, int column) {
+        super("Строка " + line + ", столбец " + column + ": " + message);
+        this.line = line;
+        this.column = column;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+}
@@ -44,6 +44,19 @@ public abstract class AbstractTabulatedFunction implements TabulatedFunction {
         logger.debug("Проверка отсортированности массива X пройдена успешно");
     }
 
+    // Копии x и y любой табулированной функции за один проход итератора: {xValues, yValues}
+    public static double[][] valuesOf(TabulatedFunction function) {
+        double[] xValues = new double[function.getCount()];
+        double[] yValues = new double[function.getCount()];
+        int i = 0;
+        for (Point point : function) {
+            xValues[i] = point.x;
+            yValues[i] = point.y;
+            i++;
+        }
+        return new double[][]{xValues, yValues};
+    }
+
     @Override
     public double apply(double x) {
         logger.debug("Вычисление значения функции для x={}, границы: [{}, {}]", x, leftBound(), rightBound());
@@ -91,6 +104,28 @@ public abstract class AbstractTabulatedFunction implements TabulatedFunction {
         }
     }
 
+    @Override
+    public boolean isDifferentiable() {
+        return true;
+    }
+
+    // Кусочно-линейная производная: наклон отрезка, содержащего x (в узлах - правый отрезок)
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        double value = x.getValue();
+        int last = getCount() - 2;
+        int leftIndex;
+        if (value < leftBound()) {
+            leftIndex = 0;
+        } else if (value >= rightBound()) {
+            leftIndex = last;
+        } else {
+            leftIndex = Math.min(floorIndexOfX(value), last);
+        }
+        double slope = (getY(leftIndex + 1) - getY(leftIndex)) / (getX(leftIndex + 1) - getX(leftIndex));
+        return new DualNumber(apply(value), slope * x.getDerivative());
+    }
+
     @Override
     public Iterator<Point> iterator() {
         throw new UnsupportedOperationException("Итератор пока не реализован");
@@ -3,6 +3,11 @@ package functions;
 import java.util.Iterator;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import exceptions.ArrayIsNotSortedException;
 import exceptions.DifferentLengthOfArraysException;
@@ -11,10 +16,11 @@ import org.apache.logging.log4j.Logger;
 
 public class ArrayTabulatedFunction extends AbstractTabulatedFunction implements Insertable, Removable, Serializable {
 
-    private static final long serialVersionUID = 1280439451709571797L;
+    private static final long serialVersionUID = 4736510929380816472L;
     private static final Logger logger = LogManager.getLogger(ArrayTabulatedFunction.class);
-    private double[] xValues;
-    private double[] yValues;
+    // Сериализуются вручную в writeObject: количество точек, затем блок x и блок y
+    private transient double[] xValues;
+    private transient double[] yValues;
 
     public ArrayTabulatedFunction(double[] xValues, double[] yValues) {
         logger.info("Создание ArrayTabulatedFunction из массивов, размер: {}", xValues.length);
@@ -234,4 +240,37 @@ public class ArrayTabulatedFunction extends AbstractTabulatedFunction implements
         count--;
         logger.info("Точка успешно удалена, новый размер: {}", count);
     }
-}
\ No newline at end of file
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(count);
+        PackedDoubles.write(out, xValues, count);
+        PackedDoubles.write(out, yValues, count);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int pointCount = in.readInt();
+        if (pointCount < 2) {
+            logger.error("Некорректное количество точек при десериализации: {}", pointCount);
+            throw new InvalidObjectException("Количество точек должно быть не менее 2");
+        }
+        double[] x;
+        double[] y;
+        try {
+            x = PackedDoubles.read(in, pointCount);
+            y = PackedDoubles.read(in, pointCount);
+        } catch (EOFException e) {
+            logger.error("Поток закончился раньше заявленного количества точек: {}", pointCount);
+            InvalidObjectException exception = new InvalidObjectException(
+                    "Поток содержит меньше точек, чем заявлено: " + pointCount);
+            exception.initCause(e);
+            throw exception;
+        }
+        checkSorted(x);
+
+        this.count = pointCount;
+        this.xValues = x;
+        this.yValues = y;
+    }
+}
@@ -24,4 +24,15 @@ public class CompositeFunction implements MathFunction {
         logger.trace("Результат композитной функции: f2(f1({}))={}", x, result);
         return result;
     }
+
+    @Override
+    public boolean isDifferentiable() {
+        return firstFunction.isDifferentiable() && secondFunction.isDifferentiable();
+    }
+
+    // Цепное правило: производная переносится через обе функции за один проход
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return secondFunction.applyDual(firstFunction.applyDual(x));
+    }
 }
\ No newline at end of file
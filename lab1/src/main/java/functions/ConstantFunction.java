@@ -11,4 +11,14 @@ public class ConstantFunction implements MathFunction {
     public double apply(double x) {
         return constant;
     }
+
+    @Override
+    public boolean isDifferentiable() {
+        return true;
+    }
+
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return DualNumber.constant(constant);
+    }
 }
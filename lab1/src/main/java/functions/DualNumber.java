@@ -0,0 +1,50 @@
+package functions;
+
+// Дуальное число value + derivative * ε, где ε² = 0: прямой режим автоматического дифференцирования
+public final class DualNumber {
+    private final double value;
+    private final double derivative;
+
+    public DualNumber(double value, double derivative) {
+        this.value = value;
+        this.derivative = derivative;
+    }
+
+    public static DualNumber constant(double value) {
+        return new DualNumber(value, 0.0);
+    }
+
+    public static DualNumber variable(double value) {
+        return new DualNumber(value, 1.0);
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getDerivative() {
+        return derivative;
+    }
+
+    public DualNumber add(DualNumber other) {
+        return new DualNumber(value + other.value, derivative + other.derivative);
+    }
+
+    public DualNumber subtract(DualNumber other) {
+        return new DualNumber(value - other.value, derivative - other.derivative);
+    }
+
+    public DualNumber multiply(DualNumber other) {
+        return new DualNumber(value * other.value, derivative * other.value + value * other.derivative);
+    }
+
+    public DualNumber divide(DualNumber other) {
+        return new DualNumber(value / other.value,
+            (derivative * other.value - value * other.derivative) / (other.value * other.value));
+    }
+
+    @Override
+    public String toString() {
+        return value + " + " + derivative + "ε";
+    }
+}
@@ -5,4 +5,14 @@ public class IdentityFunction implements MathFunction {
     public double apply(double x) {
         return x;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean isDifferentiable() {
+        return true;
+    }
+
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return x;
+    }
+}
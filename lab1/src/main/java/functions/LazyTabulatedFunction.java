@@ -0,0 +1,195 @@
+package functions;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class LazyTabulatedFunction extends AbstractTabulatedFunction {
+    private static final Logger logger = LogManager.getLogger(LazyTabulatedFunction.class);
+
+    private final MathFunction source;
+    private final double xFrom;
+    private final double step;
+    private final double[] xValues;
+    private final double[] yValues;
+    // 1 - значение y в ячейке вычислено и опубликовано
+    private final AtomicIntegerArray computed;
+
+    public LazyTabulatedFunction(MathFunction source, double xFrom, double xTo, int count) {
+        logger.info("Создание LazyTabulatedFunction из функции {}, диапазон: [{}, {}], количество точек: {}",
+            source.getClass().getSimpleName(), xFrom, xTo, count);
+        if (count < 2) {
+            logger.error("Попытка создать функцию с менее чем 2 точками: {}", count);
+            throw new IllegalArgumentException("Количество точек должно быть не меньше 2");
+        }
+
+        if (xFrom > xTo) {
+            logger.debug("Границы переставлены местами: xFrom={}, xTo={}", xFrom, xTo);
+            double temp = xFrom;
+            xFrom = xTo;
+            xTo = temp;
+        }
+
+        this.source = source;
+        this.count = count;
+        this.xFrom = xFrom;
+        this.step = (xTo - xFrom) / (count - 1);
+        this.xValues = new double[count];
+        this.yValues = new double[count];
+        this.computed = new AtomicIntegerArray(count);
+
+        // Сетка x совпадает с сеткой конструкторов ArrayTabulatedFunction и LinkedListTabulatedFunction
+        for (int i = 0; i < count; i++) {
+            xValues[i] = xFrom == xTo ? xFrom : xFrom + i * step;
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public double getX(int index) {
+        return xValues[index];
+    }
+
+    @Override
+    public double getY(int index) {
+        if (computed.get(index) == 1) {
+            return yValues[index];
+        }
+        return computeY(index);
+    }
+
+    // Вычисление вне блокировки, публикация - под ней, чтобы не затереть значение из setY
+    private double computeY(int index) {
+        double y = source.apply(xValues[index]);
+        synchronized (this) {
+            if (computed.get(index) == 0) {
+                yValues[index] = y;
+                computed.set(index, 1);
+                logger.trace("Вычислено значение в точке {}: f({})={}", index, xValues[index], y);
+            }
+            return yValues[index];
+        }
+    }
+
+    @Override
+    public synchronized void setY(int index, double value) {
+        yValues[index] = value;
+        computed.set(index, 1);
+    }
+
+    public boolean isComputed(int index) {
+        return computed.get(index) == 1;
+    }
+
+    public int getComputedCount() {
+        int result = 0;
+        for (int i = 0; i < count; i++) {
+            result += computed.get(i);
+        }
+        return result;
+    }
+
+    // Принудительное вычисление всех еще не вычисленных значений
+    public LazyTabulatedFunction materialize() {
+        logger.info("Материализация LazyTabulatedFunction, вычислено точек: {} из {}", getComputedCount(), count);
+        for (int i = 0; i < count; i++) {
+            getY(i);
+        }
+        return this;
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        if (step == 0) {
+            return x == xFrom ? 0 : -1;
+        }
+        long index = Math.round((x - xFrom) / step);
+        if (index < 0 || index >= count || xValues[(int) index] != x) {
+            return -1;
+        }
+        return (int) index;
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        for (int i = 0; i < count; i++) {
+            if (getY(i) == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public double leftBound() {
+        return xValues[0];
+    }
+
+    @Override
+    public double rightBound() {
+        return xValues[count - 1];
+    }
+
+    @Override
+    protected int floorIndexOfX(double x) {
+        if (x < xValues[0]) {
+            logger.error("x={} меньше левой границы {}", x, xValues[0]);
+            throw new IllegalArgumentException("x меньше левой границы: " + x + " < " + xValues[0]);
+        }
+        if (step == 0 || x >= xValues[count - 1]) {
+            return count - 1;
+        }
+        // Оценка по шагу сетки и поправка на ошибки округления
+        int index = (int) Math.min(count - 2, Math.floor((x - xFrom) / step));
+        while (index > 0 && xValues[index] > x) {
+            index--;
+        }
+        while (index < count - 2 && xValues[index + 1] <= x) {
+            index++;
+        }
+        return index;
+    }
+
+    @Override
+    protected double extrapolateLeft(double x) {
+        return interpolate(x, xValues[0], xValues[1], getY(0), getY(1));
+    }
+
+    @Override
+    protected double extrapolateRight(double x) {
+        return interpolate(x, xValues[count - 2], xValues[count - 1], getY(count - 2), getY(count - 1));
+    }
+
+    @Override
+    protected double interpolate(double x, int floorIndex) {
+        return interpolate(x, xValues[floorIndex], xValues[floorIndex + 1], getY(floorIndex), getY(floorIndex + 1));
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return new Iterator<Point>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < count;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет больше элементов");
+                }
+                Point point = new Point(xValues[i], getY(i));
+                i++;
+                return point;
+            }
+        };
+    }
+}
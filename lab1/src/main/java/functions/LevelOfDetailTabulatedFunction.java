@@ -0,0 +1,217 @@
+package functions;
+
+import java.util.Iterator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Обертка над табулированной функцией с пирамидой min/max по блокам размера 2^k для быстрой отрисовки.
+// Изменения значений должны идти через setY обертки, иначе пирамида устареет.
+public class LevelOfDetailTabulatedFunction implements TabulatedFunction {
+    private static final Logger logger = LogManager.getLogger(LevelOfDetailTabulatedFunction.class);
+
+    private final TabulatedFunction function;
+    private final double[] xValues;
+    private final double[] yValues;
+    // minLevels[k][j] - минимум y в блоке j уровня k (индексы [j * 2^k, (j + 1) * 2^k))
+    private final double[][] minLevels;
+    private final double[][] maxLevels;
+
+    // Агрегат по диапазону точек, соответствующий одному пикселю
+    public static class Bucket {
+        public final double firstX;
+        public final double lastX;
+        public final double firstY;
+        public final double lastY;
+        public final double minY;
+        public final double maxY;
+
+        public Bucket(double firstX, double lastX, double firstY, double lastY, double minY, double maxY) {
+            this.firstX = firstX;
+            this.lastX = lastX;
+            this.firstY = firstY;
+            this.lastY = lastY;
+            this.minY = minY;
+            this.maxY = maxY;
+        }
+    }
+
+    public LevelOfDetailTabulatedFunction(TabulatedFunction function) {
+        this.function = function;
+        int count = function.getCount();
+        double[][] values = AbstractTabulatedFunction.valuesOf(function);
+        this.xValues = values[0];
+        this.yValues = values[1];
+
+        int levels = 1;
+        while ((1L << (levels - 1)) < count) {
+            levels++;
+        }
+        minLevels = new double[levels][];
+        maxLevels = new double[levels][];
+        minLevels[0] = yValues;
+        maxLevels[0] = yValues;
+        for (int k = 1; k < levels; k++) {
+            int size = (minLevels[k - 1].length + 1) / 2;
+            minLevels[k] = new double[size];
+            maxLevels[k] = new double[size];
+            for (int j = 0; j < size; j++) {
+                updateBucket(k, j);
+            }
+        }
+        logger.debug("Построена пирамида детализации для {} точек, уровней: {}", count, levels);
+    }
+
+    private void updateBucket(int level, int bucket) {
+        double[] childMin = minLevels[level - 1];
+        double[] childMax = maxLevels[level - 1];
+        int left = bucket * 2;
+        int right = left + 1;
+        if (right < childMin.length) {
+            minLevels[level][bucket] = Math.min(childMin[left], childMin[right]);
+            maxLevels[level][bucket] = Math.max(childMax[left], childMax[right]);
+        } else {
+            minLevels[level][bucket] = childMin[left];
+            maxLevels[level][bucket] = childMax[left];
+        }
+    }
+
+    public int getLevelCount() {
+        return minLevels.length;
+    }
+
+    // Не более width блоков, покрывающих точки с x из [from, to]
+    public Bucket[] downsample(double from, double to, int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Ширина должна быть положительной: " + width);
+        }
+        int low = lowerBound(from);
+        int high = lowerBound(Math.nextUp(to)) - 1;
+        if (low > high) {
+            return new Bucket[0];
+        }
+
+        // Самый детальный уровень, на котором диапазон укладывается в width блоков
+        int level = 0;
+        while ((high >> level) - (low >> level) + 1 > width) {
+            level++;
+        }
+
+        int firstBucket = low >> level;
+        int lastBucket = high >> level;
+        Bucket[] result = new Bucket[lastBucket - firstBucket + 1];
+        for (int j = firstBucket; j <= lastBucket; j++) {
+            int start = Math.max(low, j << level);
+            int end = Math.min(high, ((j + 1) << level) - 1);
+            double minY;
+            double maxY;
+            if (start == j << level && end == Math.min(((j + 1) << level) - 1, xValues.length - 1)) {
+                minY = minLevels[level][j];
+                maxY = maxLevels[level][j];
+            } else {
+                // Крайние блоки обрезаны границами запроса, собираем их из более мелких уровней
+                double[] range = rangeMinMax(start, end);
+                minY = range[0];
+                maxY = range[1];
+            }
+            result[j - firstBucket] = new Bucket(xValues[start], xValues[end], yValues[start], yValues[end], minY, maxY);
+        }
+        logger.trace("Запрос детализации [{}, {}] шириной {}: уровень {}, блоков {}", from, to, width, level, result.length);
+        return result;
+    }
+
+    private double[] rangeMinMax(int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        while (from <= to) {
+            int level = 0;
+            while (level + 1 < minLevels.length
+                    && (from & ((1 << (level + 1)) - 1)) == 0
+                    && from + (1 << (level + 1)) - 1 <= to) {
+                level++;
+            }
+            min = Math.min(min, minLevels[level][from >> level]);
+            max = Math.max(max, maxLevels[level][from >> level]);
+            from += 1 << level;
+        }
+        return new double[]{min, max};
+    }
+
+    // Первый индекс с x >= value
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = xValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (xValues[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        function.setY(index, value);
+        yValues[index] = value;
+        for (int k = 1; k < minLevels.length; k++) {
+            updateBucket(k, index >> k);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return function.getCount();
+    }
+
+    @Override
+    public double getX(int index) {
+        return function.getX(index);
+    }
+
+    @Override
+    public double getY(int index) {
+        return function.getY(index);
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        return function.indexOfX(x);
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        return function.indexOfY(y);
+    }
+
+    @Override
+    public double leftBound() {
+        return function.leftBound();
+    }
+
+    @Override
+    public double rightBound() {
+        return function.rightBound();
+    }
+
+    @Override
+    public double apply(double x) {
+        return function.apply(x);
+    }
+
+    @Override
+    public boolean isDifferentiable() {
+        return function.isDifferentiable();
+    }
+
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return function.applyDual(x);
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return function.iterator();
+    }
+}
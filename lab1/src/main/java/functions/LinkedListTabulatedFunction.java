@@ -2,7 +2,13 @@ package functions;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
 
 import exceptions.ArrayIsNotSortedException;
 import exceptions.DifferentLengthOfArraysException;
@@ -11,18 +17,19 @@ import org.apache.logging.log4j.Logger;
 
 public class LinkedListTabulatedFunction extends AbstractTabulatedFunction implements Insertable, Removable, Serializable {
 
-    private static final long serialVersionUID = 337603668939094478L;
+    private static final long serialVersionUID = -6202117734153298310L;
     private static final Logger logger = LogManager.getLogger(LinkedListTabulatedFunction.class);
 
-    private static class Node implements Serializable {
-        private static final long serialVersionUID = 1L;
+    private static class Node {
         public double x;
         public double y;
         public Node next;
         public Node prev;
     }
 
-    private Node head;
+    // Список сериализуется вручную в writeObject: количество точек, затем пары (x, y),
+    // без рекурсивного обхода ссылок next/prev
+    private transient Node head;
 
 
     public LinkedListTabulatedFunction(double[] xValues, double[] yValues) {
@@ -367,4 +374,54 @@ public class LinkedListTabulatedFunction extends AbstractTabulatedFunction imple
         };
     }
 
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(count);
+        PackedDoubles.write(out, 2 * count, new DoubleSupplier() {
+            private Node node = head;
+            private boolean nextIsX = true;
+
+            @Override
+            public double getAsDouble() {
+                if (nextIsX) {
+                    nextIsX = false;
+                    return node.x;
+                }
+                double y = node.y;
+                node = node.next;
+                nextIsX = true;
+                return y;
+            }
+        });
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int pointCount = in.readInt();
+        if (pointCount < 2) {
+            logger.error("Некорректное количество точек при десериализации: {}", pointCount);
+            throw new InvalidObjectException("Количество точек должно быть не менее 2");
+        }
+        this.head = null;
+        this.count = 0;
+        PackedDoubles.read(in, 2 * pointCount, new DoubleConsumer() {
+            private double x;
+            private boolean nextIsX = true;
+
+            @Override
+            public void accept(double value) {
+                if (nextIsX) {
+                    x = value;
+                    nextIsX = false;
+                } else {
+                    if (head != null && x <= head.prev.x) {
+                        throw new ArrayIsNotSortedException("Массив X не отсортирован по возрастанию");
+                    }
+                    addNode(x, value);
+                    nextIsX = true;
+                }
+            }
+        });
+    }
 }
@@ -5,4 +5,14 @@ public interface MathFunction {
     default CompositeFunction andThen(MathFunction afterFunction) {
         return new CompositeFunction(this, afterFunction);
     }
+
+    // Поддерживает ли функция вычисление значения и точной производной через applyDual
+    default boolean isDifferentiable() {
+        return false;
+    }
+
+    default DualNumber applyDual(DualNumber x) {
+        throw new UnsupportedOperationException(
+            "Функция " + getClass().getSimpleName() + " не поддерживает автоматическое дифференцирование");
+    }
 }
@@ -9,11 +9,18 @@ public class NewtonMethodFunction implements MathFunction {
     private final MathFunction derivative;   // f'(x)
     private final double tolerance;          // точность
     private final int maxIterations;         // максимальное число итераций
+    private final boolean automatic;         // производная через дуальные числа
 
     public NewtonMethodFunction(MathFunction function, MathFunction derivative, 
                                double tolerance, int maxIterations) {
+        if (derivative == null && !function.isDifferentiable()) {
+            logger.error("Производная не задана, а функция {} не поддерживает автоматическое дифференцирование",
+                function.getClass().getSimpleName());
+            throw new IllegalArgumentException("Производная не задана и не может быть вычислена автоматически");
+        }
         this.function = function;
-        this.derivative = derivative;
+        this.automatic = derivative == null;
+        this.derivative = automatic ? x -> function.applyDual(DualNumber.variable(x)).getDerivative() : derivative;
         this.tolerance = tolerance;
         this.maxIterations = maxIterations;
     }
@@ -22,6 +29,15 @@ public class NewtonMethodFunction implements MathFunction {
         this(function, derivative, 1e-6, 100);
     }
 
+    // Производная вычисляется автоматически вместе со значением функции
+    public NewtonMethodFunction(MathFunction function, double tolerance, int maxIterations) {
+        this(function, null, tolerance, maxIterations);
+    }
+
+    public NewtonMethodFunction(MathFunction function) {
+        this(function, null, 1e-6, 100);
+    }
+
     @Override
     public double apply(double x0) {
         logger.info("Запуск метода Ньютона для начального приближения: {}, точность: {}, макс. итераций: {}", 
@@ -29,8 +45,17 @@ public class NewtonMethodFunction implements MathFunction {
         double x = x0;
         
         for (int i = 0; i < maxIterations; i++) {
-            double fx = function.apply(x);
-            double fpx = derivative.apply(x);
+            double fx;
+            double fpx;
+            if (automatic) {
+                // Значение и производная за один проход
+                DualNumber dual = function.applyDual(DualNumber.variable(x));
+                fx = dual.getValue();
+                fpx = dual.getDerivative();
+            } else {
+                fx = function.apply(x);
+                fpx = derivative.apply(x);
+            }
             logger.trace("Итерация {}: x={}, f(x)={}, f'(x)={}", i, x, fx, fpx);
             
             // Проверка, чтобы избежать деления на ноль
@@ -65,6 +90,10 @@ public class NewtonMethodFunction implements MathFunction {
         return derivative;
     }
 
+    public boolean isAutomaticDerivative() {
+        return automatic;
+    }
+
     public double getTolerance() {
         return tolerance;
     }
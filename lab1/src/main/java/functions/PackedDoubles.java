@@ -0,0 +1,75 @@
+package functions;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+// Запись и чтение значений double блоками байт в формах сериализации табулированных функций:
+// вместо отдельного writeDouble на каждое значение - один write на блок
+final class PackedDoubles {
+    private static final int BLOCK_VALUES = 1024;
+
+    private PackedDoubles() {
+        throw new UnsupportedOperationException("Нельзя создавать экземпляры утилитного класса PackedDoubles");
+    }
+
+    static void write(ObjectOutputStream out, double[] values, int count) throws IOException {
+        byte[] block = new byte[Math.min(count, BLOCK_VALUES) * Double.BYTES];
+        DoubleBuffer doubles = ByteBuffer.wrap(block).asDoubleBuffer();
+        for (int from = 0; from < count; from += BLOCK_VALUES) {
+            int length = Math.min(BLOCK_VALUES, count - from);
+            doubles.clear();
+            doubles.put(values, from, length);
+            out.write(block, 0, length * Double.BYTES);
+        }
+    }
+
+    static void write(ObjectOutputStream out, int count, DoubleSupplier values) throws IOException {
+        byte[] block = new byte[Math.min(count, BLOCK_VALUES) * Double.BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        for (int i = 0; i < count; i++) {
+            if (!buffer.hasRemaining()) {
+                out.write(block, 0, buffer.position());
+                buffer.clear();
+            }
+            buffer.putDouble(values.getAsDouble());
+        }
+        out.write(block, 0, buffer.position());
+    }
+
+    // Массив растет по мере прихода блоков: количество из потока не проверено, и выделять память
+    // под него целиком до чтения данных нельзя
+    static double[] read(ObjectInputStream in, int count) throws IOException {
+        byte[] block = new byte[Math.min(count, BLOCK_VALUES) * Double.BYTES];
+        DoubleBuffer doubles = ByteBuffer.wrap(block).asDoubleBuffer();
+        double[] values = new double[Math.min(count, BLOCK_VALUES)];
+        for (int from = 0; from < count; from += BLOCK_VALUES) {
+            int length = Math.min(BLOCK_VALUES, count - from);
+            in.readFully(block, 0, length * Double.BYTES);
+            if (from + length > values.length) {
+                values = Arrays.copyOf(values, (int) Math.min(count, 2L * values.length));
+            }
+            doubles.clear();
+            doubles.get(values, from, length);
+        }
+        return values;
+    }
+
+    static void read(ObjectInputStream in, int count, DoubleConsumer values) throws IOException {
+        byte[] block = new byte[Math.min(count, BLOCK_VALUES) * Double.BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        for (int from = 0; from < count; from += BLOCK_VALUES) {
+            int length = Math.min(BLOCK_VALUES, count - from);
+            in.readFully(block, 0, length * Double.BYTES);
+            buffer.clear();
+            for (int i = 0; i < length; i++) {
+                values.accept(buffer.getDouble());
+            }
+        }
+    }
+}
@@ -5,4 +5,14 @@ public class SqrFunction implements MathFunction {
     public double apply(double x) {
         return Math.pow(x, 2);
     }
+
+    @Override
+    public boolean isDifferentiable() {
+        return true;
+    }
+
+    @Override
+    public DualNumber applyDual(DualNumber x) {
+        return new DualNumber(apply(x.getValue()), 2 * x.getValue() * x.getDerivative());
+    }
 }
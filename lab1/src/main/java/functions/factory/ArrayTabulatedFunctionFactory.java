@@ -1,6 +1,7 @@
 package functions.factory;
 
 import functions.ArrayTabulatedFunction;
+import functions.MathFunction;
 import functions.TabulatedFunction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,4 +16,9 @@ public class ArrayTabulatedFunctionFactory implements TabulatedFunctionFactory {
         return new ArrayTabulatedFunction(xValues, yValues);
     }
 
+    @Override
+    public TabulatedFunction create(MathFunction source, double xFrom, double xTo, int count) {
+        logger.debug("Создание ArrayTabulatedFunction из функции через фабрику, количество точек: {}", count);
+        return new ArrayTabulatedFunction(source, xFrom, xTo, count);
+    }
 }
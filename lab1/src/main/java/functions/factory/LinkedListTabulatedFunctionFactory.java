@@ -1,6 +1,7 @@
 package functions.factory;
 
 import functions.LinkedListTabulatedFunction;
+import functions.MathFunction;
 import functions.TabulatedFunction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,4 +14,10 @@ public class LinkedListTabulatedFunctionFactory implements TabulatedFunctionFact
         logger.debug("Создание LinkedListTabulatedFunction через фабрику, количество точек: {}", xValues.length);
         return new LinkedListTabulatedFunction(xValues, yValues);
     }
+
+    @Override
+    public TabulatedFunction create(MathFunction source, double xFrom, double xTo, int count) {
+        logger.debug("Создание LinkedListTabulatedFunction из функции через фабрику, количество точек: {}", count);
+        return new LinkedListTabulatedFunction(source, xFrom, xTo, count);
+    }
 }
@@ -1,7 +1,39 @@
 package functions.factory;
 
+import functions.MathFunction;
 import functions.TabulatedFunction;
+import java.util.Arrays;
 
 public interface TabulatedFunctionFactory {
     TabulatedFunction create(double[] xValues, double[] yValues);
-}
\ No newline at end of file
+
+    // Табуляция функции на равномерной сетке, x расставляются так же, как в конструкторах из MathFunction
+    default TabulatedFunction create(MathFunction source, double xFrom, double xTo, int count) {
+        if (count < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не меньше 2");
+        }
+        if (xFrom > xTo) {
+            double temp = xFrom;
+            xFrom = xTo;
+            xTo = temp;
+        }
+
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        if (xFrom == xTo) {
+            // Вырожденный диапазон: все x совпадают, значение вычисляется один раз. Фабрики, чьи функции
+            // требуют строго возрастающих x, переопределяют этот метод последовательным конструктором
+            double y = source.apply(xFrom);
+            Arrays.fill(xValues, xFrom);
+            Arrays.fill(yValues, y);
+            return create(xValues, yValues);
+        }
+
+        double step = (xTo - xFrom) / (count - 1);
+        for (int i = 0; i < count; i++) {
+            xValues[i] = xFrom + i * step;
+            yValues[i] = source.apply(xValues[i]);
+        }
+        return create(xValues, yValues);
+    }
+}
@@ -0,0 +1,316 @@
+package io;
+
+import functions.Point;
+import functions.TabulatedFunction;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Асинхронная запись многих функций в один файл двоичного формата FunctionsIO (записи подряд,
+// читаются TabulatedFunctionStreamReader). Функция кодируется в буфер из пула в вызывающем потоке,
+// буфер ставится в ограниченную очередь, а поток записи забирает очередь пачкой и записывает ее
+// одним gathering write с одним force на пачку. Future завершается смещением записи в файле,
+// когда запись выполнена (и сброшена на диск, если включен force). Если поток записи остановится
+// раньше закрытия, все принятые, но не записанные функции завершаются с ошибкой.
+public class AsyncTabulatedFunctionWriter implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(AsyncTabulatedFunctionWriter.class);
+    private static final int POOLED_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    private static final class Request {
+        final ByteBuffer buffer;
+        final boolean pooled;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        Request(ByteBuffer buffer, boolean pooled) {
+            this.buffer = buffer;
+            this.pooled = pooled;
+        }
+    }
+
+    // Сигнал потоку записи о завершении работы
+    private static final Request SHUTDOWN = new Request(ByteBuffer.allocate(0), false);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean force;
+    private final BlockingQueue<Request> queue;
+    private final int maxBatchSize;
+    // Прямые буферы для записей, помещающихся в POOLED_BUFFER_SIZE. Их не больше, чем мест в очереди:
+    // когда все они заняты, запись кодируется в буфер из кучи точного размера, а не в новый прямой
+    private final ConcurrentLinkedQueue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
+    private final int maxDirectBuffers;
+    private final AtomicInteger directBuffers = new AtomicInteger();
+    private final Thread writerThread;
+    // Отправка записей берет блокировку на чтение, закрытие - на запись
+    private final ReadWriteLock submissionLock = new ReentrantReadWriteLock();
+    private boolean closed;
+    // Первая ошибка записи; после нее все записи завершаются с ошибкой
+    private volatile IOException failure;
+
+    // Изменяются только потоком записи
+    private long position;
+    private volatile long batchCount;
+    private volatile long writtenCount;
+
+    // Записи добавляются в конец существующего файла
+    public AsyncTabulatedFunctionWriter(Path path, int queueCapacity, int maxBatchSize, boolean force)
+            throws IOException {
+        if (queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Размер очереди и пакета должны быть положительными");
+        }
+        this.path = path;
+        this.force = force;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDirectBuffers = Math.min(MAX_POOLED_BUFFERS, queueCapacity);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.position = channel.size();
+        channel.position(position);
+        this.writerThread = new Thread(this::run, "Async-Function-Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("Открыта асинхронная запись в файл {}, начальное смещение: {}, force: {}", path, position, force);
+    }
+
+    public AsyncTabulatedFunctionWriter(Path path) throws IOException {
+        this(path, 1024, 256, true);
+    }
+
+    // Кодирует функцию сразу, поэтому ее последующие изменения на запись не влияют.
+    // Блокируется, пока в очереди нет места
+    public CompletableFuture<Long> submit(TabulatedFunction function) throws InterruptedException {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        Request request = encode(function);
+        submissionLock.readLock().lock();
+        try {
+            if (closed) {
+                release(request);
+                throw new IllegalStateException("Асинхронная запись закрыта");
+            }
+            queue.put(request);
+        } finally {
+            submissionLock.readLock().unlock();
+        }
+        return request.future;
+    }
+
+    private Request encode(TabulatedFunction function) {
+        int size = Integer.BYTES + function.getCount() * 2 * Double.BYTES;
+        ByteBuffer buffer = size <= POOLED_BUFFER_SIZE ? pooledBuffer() : null;
+        boolean pooled = buffer != null;
+        if (pooled) {
+            buffer.clear();
+        } else {
+            buffer = ByteBuffer.allocate(size);
+        }
+        buffer.putInt(function.getCount());
+        for (Point point : function) {
+            buffer.putDouble(point.x).putDouble(point.y);
+        }
+        buffer.flip();
+        return new Request(buffer, pooled);
+    }
+
+    // Свободный прямой буфер или null, если все maxDirectBuffers буферов заняты
+    private ByteBuffer pooledBuffer() {
+        ByteBuffer buffer = pool.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        if (directBuffers.incrementAndGet() > maxDirectBuffers) {
+            directBuffers.decrementAndGet();
+            return null;
+        }
+        return ByteBuffer.allocateDirect(POOLED_BUFFER_SIZE);
+    }
+
+    private void release(Request request) {
+        if (request.pooled) {
+            pool.offer(request.buffer);
+        }
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        boolean running = true;
+        try {
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    logger.warn("Поток записи прерван");
+                    break;
+                }
+                queue.drainTo(batch, maxBatchSize - 1);
+                if (batch.remove(SHUTDOWN)) {
+                    // Все записи, отправленные до закрытия, уже в очереди
+                    queue.drainTo(batch);
+                    running = false;
+                }
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                batch.clear();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Непредвиденная ошибка в потоке записи в файл {}", path, e);
+            if (failure == null) {
+                failure = new IOException("Непредвиденная ошибка записи в файл " + path, e);
+            }
+        } finally {
+            stop(batch, running);
+        }
+    }
+
+    // Выполняется при любом завершении потока записи. Запись закрывается для новых функций, а принятые,
+    // но не записанные функции завершаются с ошибкой, чтобы submit, close и их Future не ждали остановленный поток
+    private void stop(List<Request> unwritten, boolean abnormal) {
+        if (abnormal && failure == null) {
+            failure = new IOException("Поток записи в файл " + path + " остановлен до закрытия");
+        }
+        IOException error = failure != null ? failure : new IOException("Поток записи в файл " + path + " остановлен");
+        // Отправители, ждущие места в очереди, держат блокировку на чтение: очередь очищается, пока они не выйдут
+        while (!submissionLock.writeLock().tryLock()) {
+            failPending(unwritten, error);
+            Thread.onSpinWait();
+        }
+        try {
+            closed = true;
+            failPending(unwritten, error);
+        } finally {
+            submissionLock.writeLock().unlock();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Ошибка закрытия файла {}", path, e);
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        logger.info("Поток записи в файл {} завершил работу", path);
+    }
+
+    private void failPending(List<Request> unwritten, IOException error) {
+        queue.drainTo(unwritten);
+        for (Request request : unwritten) {
+            // Буфер уже завершенной записи возвращен в пул в write
+            if (request != SHUTDOWN && request.future.completeExceptionally(error)) {
+                release(request);
+            }
+        }
+        unwritten.clear();
+    }
+
+    private void write(List<Request> batch) {
+        long[] offsets = new long[batch.size()];
+        ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+        long offset = position;
+        for (int i = 0; i < batch.size(); i++) {
+            offsets[i] = offset;
+            buffers[i] = batch.get(i).buffer;
+            offset += buffers[i].remaining();
+        }
+
+        IOException error = failure;
+        if (error == null) {
+            try {
+                long remaining = offset - position;
+                while (remaining > 0) {
+                    remaining -= channel.write(buffers);
+                }
+                if (force) {
+                    channel.force(false);
+                }
+                position = offset;
+            } catch (IOException e) {
+                logger.error("Ошибка записи пакета из {} функций в файл {}", batch.size(), path, e);
+                failure = e;
+                error = e;
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Request request = batch.get(i);
+            release(request);
+            if (error == null) {
+                request.future.complete(offsets[i]);
+            } else {
+                request.future.completeExceptionally(error);
+            }
+        }
+        if (error == null) {
+            batchCount++;
+            writtenCount += batch.size();
+            logger.debug("Записан пакет из {} функций, смещение после записи: {}", batch.size(), position);
+        }
+    }
+
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    // Новые записи отклоняются, уже принятые записываются до конца, затем поток записи закрывает файл.
+    // Прерывание не отменяет закрытие: поток записи завершит работу в фоне, флаг прерывания восстанавливается
+    @Override
+    public void close() throws IOException {
+        boolean interrupted = false;
+        submissionLock.writeLock().lock();
+        try {
+            if (!closed) {
+                closed = true;
+                while (true) {
+                    try {
+                        queue.put(SHUTDOWN);
+                        break;
+                    } catch (InterruptedException e) {
+                        // Поток записи освобождает очередь, поэтому место для сигнала скоро появится
+                        interrupted = true;
+                    }
+                }
+            }
+        } finally {
+            submissionLock.writeLock().unlock();
+        }
+        if (interrupted) {
+            logger.warn("Закрытие записи в файл {} прервано, поток записи завершит работу в фоне", path);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            logger.warn("Ожидание потока записи в файл {} прервано", path);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        logger.info("Асинхронная запись в файл {} закрыта, пакетов: {}, функций: {}", path, batchCount, writtenCount);
+        if (failure != null) {
+            throw new IOException("Часть функций не записана в файл " + path, failure);
+        }
+    }
+}
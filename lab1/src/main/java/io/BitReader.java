@@ -0,0 +1,41 @@
+package io;
+
+// Чтение последовательности битов, записанной BitWriter, начиная с заданного байта
+final class BitReader {
+    private final byte[] bytes;
+    private int position;
+    // Количество уже прочитанных битов текущего байта
+    private int bitOffset;
+
+    BitReader(byte[] bytes, int offset) {
+        this.bytes = bytes;
+        this.position = offset;
+    }
+
+    boolean readBit() {
+        boolean bit = ((bytes[position] >>> (7 - bitOffset)) & 1) != 0;
+        if (++bitOffset == 8) {
+            bitOffset = 0;
+            position++;
+        }
+        return bit;
+    }
+
+    // Читает bits бит (1..64) как беззнаковое значение
+    long readBits(int bits) {
+        long result = 0;
+        while (bits > 0) {
+            int available = 8 - bitOffset;
+            int take = Math.min(available, bits);
+            int value = (bytes[position] & 0xFF) >>> (available - take);
+            result = (result << take) | (value & ((1 << take) - 1));
+            bits -= take;
+            bitOffset += take;
+            if (bitOffset == 8) {
+                bitOffset = 0;
+                position++;
+            }
+        }
+        return result;
+    }
+}
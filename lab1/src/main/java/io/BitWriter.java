@@ -0,0 +1,76 @@
+package io;
+
+import java.util.Arrays;
+
+// Запись последовательности битов (старшие биты первыми) в растущий массив байт
+final class BitWriter {
+    private byte[] bytes;
+    private int size;
+    // Еще не записанные в массив биты, выровненные по младшему краю
+    private long accumulator;
+    private int accumulated;
+
+    BitWriter(int initialCapacity) {
+        this.bytes = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    // Записывает младшие bits бит значения (1..64)
+    void writeBits(long value, int bits) {
+        if (bits == 64) {
+            writeBits(value >>> 32, 32);
+            writeBits(value, 32);
+            return;
+        }
+        value &= (1L << bits) - 1;
+        if (accumulated + bits > 64) {
+            int first = 64 - accumulated;
+            writeBits(value >>> (bits - first), first);
+            writeBits(value, bits - first);
+            return;
+        }
+        accumulator = accumulated == 0 ? value : (accumulator << bits) | value;
+        accumulated += bits;
+        if (accumulated == 64) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (accumulator >>> shift);
+            }
+            accumulator = 0;
+            accumulated = 0;
+        }
+    }
+
+    // Дополняет последний байт нулями, после этого size() указывает на начало следующего байта
+    void alignToByte() {
+        int padding = (8 - accumulated % 8) % 8;
+        if (padding > 0) {
+            writeBits(0, padding);
+        }
+        ensureCapacity(accumulated / 8);
+        for (int shift = accumulated - 8; shift >= 0; shift -= 8) {
+            bytes[size++] = (byte) (accumulator >>> shift);
+        }
+        accumulator = 0;
+        accumulated = 0;
+    }
+
+    // Количество полностью записанных байт
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        alignToByte();
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package io;
+
+import functions.AbstractTabulatedFunction;
+import functions.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Табулированная функция только для чтения поверх сжатого формата GorillaCodec.
+// Значения хранятся в сжатом виде; при обращении декодируется только нужный блок,
+// блок для x ищется двоичным поиском по индексу первых x. Последний декодированный блок
+// хранится в неизменяемом объекте, поэтому функцию можно читать из нескольких потоков.
+public class CompressedTabulatedFunction extends AbstractTabulatedFunction {
+    private static final Logger logger = LogManager.getLogger(CompressedTabulatedFunction.class);
+
+    // Декодированный блок
+    private static final class Block {
+        final int index;
+        final double[] xValues;
+        final double[] yValues;
+
+        Block(int index, double[] xValues, double[] yValues) {
+            this.index = index;
+            this.xValues = xValues;
+            this.yValues = yValues;
+        }
+    }
+
+    private final byte[] bytes;
+    private final int blockSize;
+    // Смещения блоков в массиве bytes и первые x блоков
+    private final int[] blockOffsets;
+    private final double[] blockFirstX;
+    private volatile Block cached;
+
+    public CompressedTabulatedFunction(byte[] bytes) throws IOException {
+        if (bytes.length < GorillaCodec.HEADER_SIZE) {
+            throw new IOException("Заголовок сжатого формата обрезан");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != GorillaCodec.MAGIC) {
+            logger.error("Данные не содержат сжатую функцию");
+            throw new IOException("Неверная сигнатура сжатого формата");
+        }
+        int version = buffer.getInt();
+        if (version != GorillaCodec.VERSION) {
+            logger.error("Неподдерживаемая версия сжатого формата: {}", version);
+            throw new IOException("Неподдерживаемая версия формата: " + version);
+        }
+        int count = buffer.getInt();
+        int blockSize = buffer.getInt();
+        int blockCount = buffer.getInt();
+        long dataLength = buffer.getLong();
+        if (count < 2) {
+            logger.error("Некорректное количество точек в сжатом формате: {}", count);
+            throw new IOException("Количество точек должно быть не менее 2");
+        }
+        if (blockSize < 2 || blockCount != (int) (((long) count + blockSize - 1) / blockSize)) {
+            logger.error("Некорректная разбивка на блоки: размер {}, блоков {}", blockSize, blockCount);
+            throw new IOException("Некорректная разбивка на блоки");
+        }
+        long dataStart = GorillaCodec.HEADER_SIZE + (long) blockCount * GorillaCodec.INDEX_ENTRY_SIZE;
+        if (bytes.length != dataStart + dataLength) {
+            logger.error("Длина сжатых данных {} не совпадает с заголовком: {}", bytes.length, dataStart + dataLength);
+            throw new IOException("Сжатые данные обрезаны или содержат лишние байты");
+        }
+
+        this.count = count;
+        this.bytes = bytes;
+        this.blockSize = blockSize;
+        this.blockOffsets = new int[blockCount];
+        this.blockFirstX = new double[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            long offset = buffer.getLong();
+            if (offset < 0 || offset >= dataLength) {
+                throw new IOException("Некорректное смещение блока " + i + ": " + offset);
+            }
+            blockOffsets[i] = (int) (dataStart + offset);
+            blockFirstX[i] = buffer.getDouble();
+        }
+        logger.debug("Открыта сжатая функция: {} точек, {} блоков, {} байт", count, blockCount, bytes.length);
+    }
+
+    private int pointsInBlock(int block) {
+        return Math.min(blockSize, count - block * blockSize);
+    }
+
+    private Block block(int block) {
+        Block current = cached;
+        if (current != null && current.index == block) {
+            return current;
+        }
+        int points = pointsInBlock(block);
+        double[] xValues = new double[points];
+        double[] yValues = new double[points];
+        GorillaCodec.decodeBlock(bytes, blockOffsets[block], points, xValues, yValues, 0);
+        current = new Block(block, xValues, yValues);
+        cached = current;
+        return current;
+    }
+
+    // Декодирует все точки подряд, минуя кэш блоков
+    void decodeAll(double[] xValues, double[] yValues) {
+        for (int i = 0; i < blockOffsets.length; i++) {
+            GorillaCodec.decodeBlock(bytes, blockOffsets[i], pointsInBlock(i), xValues, yValues, i * blockSize);
+        }
+    }
+
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    // Размер сжатого представления в байтах
+    public int getEncodedSize() {
+        return bytes.length;
+    }
+
+    private static void checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + count);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public double getX(int index) {
+        checkIndex(index, count);
+        return block(index / blockSize).xValues[index % blockSize];
+    }
+
+    @Override
+    public double getY(int index) {
+        checkIndex(index, count);
+        return block(index / blockSize).yValues[index % blockSize];
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        throw new UnsupportedOperationException("CompressedTabulatedFunction доступна только для чтения");
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        int index = floorIndex(x);
+        return index >= 0 && getX(index) == x ? index : -1;
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        for (int block = 0; block < blockOffsets.length; block++) {
+            double[] yValues = block(block).yValues;
+            for (int i = 0; i < yValues.length; i++) {
+                if (yValues[i] == y) {
+                    return block * blockSize + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public double leftBound() {
+        return blockFirstX[0];
+    }
+
+    @Override
+    public double rightBound() {
+        return getX(count - 1);
+    }
+
+    // Последний индекс с x[i] <= x, -1 если x левее таблицы: сначала блок по индексу, затем точка в блоке
+    private int floorIndex(double x) {
+        int low = 0;
+        int high = blockFirstX.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (blockFirstX[middle] <= x) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high < 0) {
+            return -1;
+        }
+        double[] xValues = block(high).xValues;
+        int blockLow = 0;
+        int blockHigh = xValues.length - 1;
+        while (blockLow <= blockHigh) {
+            int middle = (blockLow + blockHigh) >>> 1;
+            if (xValues[middle] <= x) {
+                blockLow = middle + 1;
+            } else {
+                blockHigh = middle - 1;
+            }
+        }
+        return high * blockSize + blockHigh;
+    }
+
+    @Override
+    protected int floorIndexOfX(double x) {
+        if (x < leftBound()) {
+            logger.error("x={} меньше левой границы {}", x, leftBound());
+            throw new IllegalArgumentException("x меньше левой границы: " + x + " < " + leftBound());
+        }
+        return floorIndex(x);
+    }
+
+    @Override
+    protected double extrapolateLeft(double x) {
+        return interpolate(x, getX(0), getX(1), getY(0), getY(1));
+    }
+
+    @Override
+    protected double extrapolateRight(double x) {
+        return interpolate(x, getX(count - 2), getX(count - 1), getY(count - 2), getY(count - 1));
+    }
+
+    @Override
+    protected double interpolate(double x, int floorIndex) {
+        return interpolate(x, getX(floorIndex), getX(floorIndex + 1), getY(floorIndex), getY(floorIndex + 1));
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return new Iterator<Point>() {
+            private int i = 0;
+            private Block current;
+
+            @Override
+            public boolean hasNext() {
+                return i < count;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет больше элементов");
+                }
+                // Итератор держит свой блок и не вытесняет общий кэш
+                int block = i / blockSize;
+                if (current == null || current.index != block) {
+                    int points = pointsInBlock(block);
+                    double[] xValues = new double[points];
+                    double[] yValues = new double[points];
+                    GorillaCodec.decodeBlock(bytes, blockOffsets[block], points, xValues, yValues, 0);
+                    current = new Block(block, xValues, yValues);
+                }
+                Point point = new Point(current.xValues[i % blockSize], current.yValues[i % blockSize]);
+                i++;
+                return point;
+            }
+        };
+    }
+}
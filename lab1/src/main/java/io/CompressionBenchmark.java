@@ -0,0 +1,116 @@
+package io;
+
+import functions.ArrayTabulatedFunction;
+import functions.ConstantFunction;
+import functions.SqrFunction;
+import functions.TabulatedFunction;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.TabulatedFunctionFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+
+// Степень сжатия и скорость GorillaCodec в сравнении с двоичным форматом FunctionsIO
+// на таблицах разного характера; скорость - в МБ/с исходных данных (16 байт на точку)
+public class CompressionBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int SIZE = 1_000_000;
+    private static final int RANDOM_READS = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        // Логирование каждого узла при создании функций искажает замеры
+        Configurator.setAllLevels(LogManager.ROOT_LOGGER_NAME, Level.WARN);
+        TabulatedFunctionFactory factory = new ArrayTabulatedFunctionFactory();
+
+        System.out.println("Таблица              | Формат   | Байт        | Сжатие | Запись, МБ/с | Чтение, МБ/с");
+        measure("x^2", new ArrayTabulatedFunction(new SqrFunction(), 0, 1, SIZE), factory);
+        measure("sin(x)", new ArrayTabulatedFunction(Math::sin, 0, 100, SIZE), factory);
+        measure("константа", new ArrayTabulatedFunction(new ConstantFunction(3.5), 0, 1, SIZE), factory);
+        measure("случайное блуждание", randomWalk(SIZE), factory);
+        measure("целые x, шум y", randomNoise(SIZE), factory);
+
+        TabulatedFunction function = new ArrayTabulatedFunction(Math::sin, 0, 100, SIZE);
+        for (int blockSize : new int[]{64, 256, 1024, 4096}) {
+            measureRandomAccess(function, blockSize);
+        }
+    }
+
+    private static TabulatedFunction randomWalk(int size) {
+        Random random = new Random(42);
+        double[] xValues = new double[size];
+        double[] yValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            xValues[i] = i * 0.5;
+            yValues[i] = i == 0 ? 0 : yValues[i - 1] + Math.round(random.nextGaussian() * 100) / 100.0;
+        }
+        return new ArrayTabulatedFunction(xValues, yValues);
+    }
+
+    private static TabulatedFunction randomNoise(int size) {
+        Random random = new Random(42);
+        double[] xValues = new double[size];
+        double[] yValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            xValues[i] = i;
+            yValues[i] = random.nextDouble();
+        }
+        return new ArrayTabulatedFunction(xValues, yValues);
+    }
+
+    private static void measure(String name, TabulatedFunction function, TabulatedFunctionFactory factory)
+            throws IOException {
+        double rawMegabytes = function.getCount() * 2.0 * Double.BYTES / (1 << 20);
+
+        byte[] binary = null;
+        byte[] compressed = null;
+        long binaryWrite = Long.MAX_VALUE;
+        long binaryRead = Long.MAX_VALUE;
+        long compressedWrite = Long.MAX_VALUE;
+        long compressedRead = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            FunctionsIO.writeTabulatedFunction(new BufferedOutputStream(bytes), function);
+            binary = bytes.toByteArray();
+            binaryWrite = Math.min(binaryWrite, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            FunctionsIO.readTabulatedFunction(new BufferedInputStream(new ByteArrayInputStream(binary)), factory);
+            binaryRead = Math.min(binaryRead, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            compressed = GorillaCodec.encode(function);
+            compressedWrite = Math.min(compressedWrite, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            GorillaCodec.decode(compressed, factory);
+            compressedRead = Math.min(compressedRead, System.nanoTime() - start);
+        }
+        System.out.printf("%-20s | двоичный | %11d | %6.2f | %12.1f | %12.1f%n", name, binary.length,
+            1.0, rawMegabytes / (binaryWrite / 1e9), rawMegabytes / (binaryRead / 1e9));
+        System.out.printf("%-20s | Gorilla  | %11d | %6.2f | %12.1f | %12.1f%n", name, compressed.length,
+            (double) binary.length / compressed.length, rawMegabytes / (compressedWrite / 1e9),
+            rawMegabytes / (compressedRead / 1e9));
+    }
+
+    // Цена произвольного доступа: каждое обращение в другой блок декодирует его целиком
+    private static void measureRandomAccess(TabulatedFunction function, int blockSize) throws IOException {
+        CompressedTabulatedFunction compressed =
+            new CompressedTabulatedFunction(GorillaCodec.encode(function, blockSize));
+        Random random = new Random(42);
+        double sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < RANDOM_READS; i++) {
+            sum += compressed.apply(random.nextDouble() * 100);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("Блок %4d точек: %d байт, произвольный apply: %.2f мкс (контроль %.3f)%n",
+            blockSize, compressed.getEncodedSize(), nanos / 1e3 / RANDOM_READS, sum);
+    }
+}
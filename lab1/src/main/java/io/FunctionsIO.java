@@ -1,18 +1,30 @@
 package io;
 
+import functions.AbstractTabulatedFunction;
 import functions.TabulatedFunction;
 import functions.Point;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import functions.factory.TabulatedFunctionFactory;
-import java.text.NumberFormat;
-import java.text.ParseException;
-import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public final class FunctionsIO {
     private static final Logger logger = LogManager.getLogger(FunctionsIO.class);
 
+    // Колоночный формат: заголовок (MAGIC, версия, количество точек, резерв), блок x, блок y, CRC32
+    // всех предыдущих байт. MAGIC отрицателен, поэтому не совпадает с количеством точек старого формата.
+    static final int COLUMNAR_MAGIC = 0xFA7AB1E5;
+    static final int COLUMNAR_VERSION = 1;
+    static final int COLUMNAR_HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int BULK_BUFFER_SIZE = 1 << 16;
+
     private FunctionsIO() {
         throw new UnsupportedOperationException("Нельзя создавать экземпляры утилитного класса FunctionsIO");
     }
@@ -71,84 +83,193 @@ public final class FunctionsIO {
 
 
 
-    public static void writeTabulatedFunction(BufferedWriter writer, TabulatedFunction function) throws IOException {
-        logger.info("Запись TabulatedFunction в текстовый поток, количество точек: {}", function.getCount());
-        PrintWriter printWriter = new PrintWriter(writer);
+    // Ленивое чтение всех функций двоичного формата, записанных в поток подряд
+    public static Stream<TabulatedFunction> readTabulatedFunctions(BufferedInputStream inputStream,
+                                                                   TabulatedFunctionFactory factory) {
+        logger.info("Потоковое чтение TabulatedFunction из бинарного потока");
+        return new TabulatedFunctionStreamReader(inputStream, factory).stream();
+    }
 
-        // Записываем количество точек
-        printWriter.println(function.getCount());
-        logger.debug("Записано количество точек: {}", function.getCount());
+    // Запись в колоночном формате блоками через FileChannel
+    public static void writeTabulatedFunction(Path path, TabulatedFunction function) throws IOException {
+        int count = function.getCount();
+        logger.info("Запись TabulatedFunction в колоночном формате в файл {}, количество точек: {}", path, count);
+        double[][] values = AbstractTabulatedFunction.valuesOf(function);
 
-        // Записываем все точки (x, y) через пробел
-        int pointCount = 0;
-        for (Point point : function) {
-            printWriter.printf("%f %f\n", point.x, point.y);
-            pointCount++;
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BULK_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(COLUMNAR_MAGIC).putInt(COLUMNAR_VERSION).putInt(count).putInt(0);
+            buffer.flip();
+            writeFully(channel, buffer, crc);
+            writeColumn(channel, buffer, values[0], crc);
+            writeColumn(channel, buffer, values[1], crc);
+            buffer.clear();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            writeFully(channel, buffer, null);
         }
-        logger.debug("Записано точек: {}", pointCount);
-        printWriter.flush(); // Сбрасываем буфер, но не закрываем поток!
-        logger.info("Запись TabulatedFunction в текстовый поток завершена успешно");
+        logger.info("Запись в колоночном формате завершена, CRC32: {}", Long.toHexString(crc.getValue()));
     }
 
-    public static TabulatedFunction readTabulatedFunction(BufferedReader reader, TabulatedFunctionFactory factory)
+    private static void writeColumn(FileChannel channel, ByteBuffer buffer, double[] values, CRC32 crc)
             throws IOException {
-        logger.info("Чтение TabulatedFunction из текстового потока");
-        try {
-            // Читаем количество точек
-            String countLine = reader.readLine();
-            if (countLine == null) {
-                logger.error("Файл пуст при попытке чтения функции");
-                throw new IOException("Файл пуст");
+        int perBuffer = buffer.capacity() / Double.BYTES;
+        for (int from = 0; from < values.length; from += perBuffer) {
+            int length = Math.min(perBuffer, values.length - from);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(values, from, length);
+            buffer.limit(length * Double.BYTES);
+            writeFully(channel, buffer, crc);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Читает колоночный формат с проверкой CRC32; файлы старого двоичного формата читаются как раньше
+    public static TabulatedFunction readTabulatedFunction(Path path, TabulatedFunctionFactory factory)
+            throws IOException {
+        logger.info("Чтение TabulatedFunction из файла {}", path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BULK_BUFFER_SIZE);
+            buffer.limit(COLUMNAR_HEADER_SIZE);
+            readFully(channel, buffer, Integer.BYTES);
+            buffer.flip();
+            if (buffer.remaining() < COLUMNAR_HEADER_SIZE || buffer.getInt(0) != COLUMNAR_MAGIC) {
+                logger.debug("Файл {} не в колоночном формате, чтение старого двоичного формата", path);
+                try (InputStream stream = Files.newInputStream(path)) {
+                    return readTabulatedFunction(new BufferedInputStream(stream), factory);
+                }
             }
-            int count = Integer.parseInt(countLine.trim());
-            logger.debug("Прочитано количество точек: {}", count);
 
+            int version = buffer.getInt(Integer.BYTES);
+            int count = buffer.getInt(2 * Integer.BYTES);
+            if (version != COLUMNAR_VERSION) {
+                logger.error("Неподдерживаемая версия колоночного формата: {}", version);
+                throw new IOException("Неподдерживаемая версия формата: " + version);
+            }
             if (count < 2) {
                 logger.error("Некорректное количество точек при чтении: {}", count);
                 throw new IOException("Количество точек должно быть не менее 2");
             }
+            // Размер проверяется до выделения массивов, чтобы испорченное количество точек
+            // приводило к IOException, а не к OutOfMemoryError
+            long expectedSize = COLUMNAR_HEADER_SIZE + 2L * Double.BYTES * count + Integer.BYTES;
+            if (channel.size() != expectedSize) {
+                logger.error("Размер файла {} не соответствует количеству точек {}: {} != {}", path, count,
+                    channel.size(), expectedSize);
+                throw new IOException("Размер файла не соответствует количеству точек: " + channel.size()
+                    + " != " + expectedSize);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer);
 
             double[] xValues = new double[count];
             double[] yValues = new double[count];
+            readColumn(channel, buffer, xValues, crc);
+            readColumn(channel, buffer, yValues, crc);
 
-            // Создаем форматтер для чисел с запятой
-            NumberFormat formatter = NumberFormat.getInstance(Locale.forLanguageTag("ru"));
-
-            // Читаем точки
-            for (int i = 0; i < count; i++) {
-                String line = reader.readLine();
-                if (line == null) {
-                    logger.error("Неожиданный конец файла при чтении точки с индексом {}", i);
-                    throw new IOException("Неожиданный конец файла");
-                }
-
-                String[] parts = line.split(" ");
-                if (parts.length != 2) {
-                    logger.error("Некорректный формат строки при чтении точки {}: {}", i, line);
-                    throw new IOException("Некорректный формат строки: " + line);
-                }
-
-                try {
-                    xValues[i] = formatter.parse(parts[0]).doubleValue();
-                    yValues[i] = formatter.parse(parts[1]).doubleValue();
-                } catch (ParseException e) {
-                    logger.error("Ошибка парсинга числа в строке {}: {}", i, line, e);
-                    throw new IOException("Ошибка парсинга числа", e);
-                }
+            buffer.clear();
+            buffer.limit(Integer.BYTES);
+            readFully(channel, buffer, Integer.BYTES);
+            buffer.flip();
+            int expected = buffer.getInt();
+            if (expected != (int) crc.getValue()) {
+                logger.error("Контрольная сумма файла {} не совпадает: {} != {}", path,
+                    Integer.toHexString(expected), Long.toHexString(crc.getValue()));
+                throw new IOException("Контрольная сумма не совпадает, файл поврежден");
             }
             logger.debug("Прочитано {} точек, границы: [{}, {}]", count, xValues[0], xValues[count - 1]);
 
             TabulatedFunction result = factory.create(xValues, yValues);
-            logger.info("TabulatedFunction успешно прочитана из текстового потока, тип: {}", 
+            logger.info("TabulatedFunction успешно прочитана из колоночного формата, тип: {}",
                 result.getClass().getSimpleName());
             return result;
+        }
+    }
+
+    private static void readColumn(FileChannel channel, ByteBuffer buffer, double[] values, CRC32 crc)
+            throws IOException {
+        int perBuffer = buffer.capacity() / Double.BYTES;
+        for (int from = 0; from < values.length; from += perBuffer) {
+            int length = Math.min(perBuffer, values.length - from);
+            buffer.clear();
+            buffer.limit(length * Double.BYTES);
+            readFully(channel, buffer, buffer.limit());
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            buffer.asDoubleBuffer().get(values, from, length);
+        }
+    }
 
-        } catch (NumberFormatException e) {
-            logger.error("Некорректный формат числа при чтении функции", e);
-            throw new IOException("Некорректный формат числа", e);
+    // Читает до заполнения буфера; конец файла раньше, чем прочитано required байт, - ошибка
+    private static void readFully(FileChannel channel, ByteBuffer buffer, int required) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() < required) {
+                    logger.error("Неожиданный конец файла");
+                    throw new EOFException("Неожиданный конец файла");
+                }
+                return;
+            }
         }
     }
 
+    // Открывает файл двоичного или колоночного формата без чтения значений: функция только для чтения
+    // работает напрямую с отображенными в память страницами файла. CRC32 при этом не проверяется.
+    public static TabulatedFunction mapTabulatedFunction(Path path) throws IOException {
+        logger.info("Отображение TabulatedFunction из файла {}", path);
+        return new MappedTabulatedFunction(path);
+    }
+
+    // Сжатый формат GorillaCodec с блоками по умолчанию
+    public static void writeCompressedTabulatedFunction(BufferedOutputStream outputStream, TabulatedFunction function)
+            throws IOException {
+        logger.info("Запись TabulatedFunction в сжатом формате, количество точек: {}", function.getCount());
+        GorillaCodec.write(outputStream, function);
+    }
+
+    // Функция только для чтения, блоки декодируются при обращении
+    public static CompressedTabulatedFunction readCompressedTabulatedFunction(BufferedInputStream inputStream)
+            throws IOException {
+        logger.info("Чтение TabulatedFunction в сжатом формате");
+        return GorillaCodec.read(inputStream);
+    }
+
+    // Текстовый формат из файла, фрагменты разбираются параллельно в общем пуле потоков
+    public static TabulatedFunction readTextTabulatedFunction(Path path, TabulatedFunctionFactory factory)
+            throws IOException {
+        try (ParallelTextFunctionLoader loader = new ParallelTextFunctionLoader()) {
+            return loader.load(path, factory);
+        }
+    }
+
+    public static void writeTabulatedFunction(BufferedWriter writer, TabulatedFunction function) throws IOException {
+        logger.info("Запись TabulatedFunction в текстовый поток, количество точек: {}", function.getCount());
+        // Значения записываются без округления, десятичный разделитель - запятая
+        new TabulatedFunctionTextWriter(writer).write(function);
+        writer.flush(); // Сбрасываем буфер, но не закрываем поток!
+        logger.info("Запись TabulatedFunction в текстовый поток завершена успешно");
+    }
+
+    public static TabulatedFunction readTabulatedFunction(BufferedReader reader, TabulatedFunctionFactory factory)
+            throws IOException {
+        logger.info("Чтение TabulatedFunction из текстового потока");
+        // Числа с запятой или точкой; ошибки сообщают строку и столбец
+        TabulatedFunction result = new TabulatedFunctionTextParser(reader).parse(factory);
+        logger.info("TabulatedFunction успешно прочитана из текстового потока, тип: {}",
+            result.getClass().getSimpleName());
+        return result;
+    }
+
     public static void serialize(BufferedOutputStream stream, TabulatedFunction function) throws IOException {
         logger.info("Сериализация TabulatedFunction, тип: {}, количество точек: {}", 
             function.getClass().getSimpleName(), function.getCount());
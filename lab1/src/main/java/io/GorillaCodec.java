@@ -0,0 +1,226 @@
+package io;
+
+import functions.Point;
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Сжатый двоичный формат в духе Gorilla: x кодируются разностью разностей битовых представлений,
+// y - XOR с предыдущим значением, все упаковано по битам. Точки разбиты на блоки по blockSize,
+// каждый блок начинается с несжатой точки и выровнен по байту, поэтому блок декодируется независимо.
+// Формат: заголовок (MAGIC, версия, количество точек, размер блока, количество блоков, длина данных),
+// индекс блоков (смещение в данных и первый x каждого блока), затем данные блоков.
+public final class GorillaCodec {
+    private static final Logger logger = LogManager.getLogger(GorillaCodec.class);
+
+    static final int MAGIC = 0xFA7AB1E6;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES;
+    static final int INDEX_ENTRY_SIZE = Long.BYTES + Double.BYTES;
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private GorillaCodec() {
+        throw new UnsupportedOperationException("Нельзя создавать экземпляры утилитного класса GorillaCodec");
+    }
+
+    public static byte[] encode(TabulatedFunction function) {
+        return encode(function, DEFAULT_BLOCK_SIZE);
+    }
+
+    public static byte[] encode(TabulatedFunction function, int blockSize) {
+        if (blockSize < 2) {
+            throw new IllegalArgumentException("Размер блока должен быть не менее 2: " + blockSize);
+        }
+        int count = function.getCount();
+        int blockCount = (count + blockSize - 1) / blockSize;
+        logger.debug("Сжатие {} точек, блоков: {}", count, blockCount);
+
+        long[] offsets = new long[blockCount];
+        double[] firstX = new double[blockCount];
+        BitWriter writer = new BitWriter(count * 4);
+        int index = 0;
+        long previousX = 0;
+        long previousDelta = 0;
+        long previousY = 0;
+        // Окно значащих битов предыдущего XOR, -1 - окна еще нет
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (Point point : function) {
+            long xBits = Double.doubleToRawLongBits(point.x);
+            long yBits = Double.doubleToRawLongBits(point.y);
+            if (index % blockSize == 0) {
+                writer.alignToByte();
+                offsets[index / blockSize] = writer.size();
+                firstX[index / blockSize] = point.x;
+                writer.writeBits(xBits, 64);
+                writer.writeBits(yBits, 64);
+                previousDelta = 0;
+                previousLeading = -1;
+            } else {
+                long delta = xBits - previousX;
+                writeDeltaOfDelta(writer, delta - previousDelta);
+                previousDelta = delta;
+
+                long xor = yBits ^ previousY;
+                if (xor == 0) {
+                    writer.writeBit(false);
+                } else {
+                    writer.writeBit(true);
+                    int leading = Long.numberOfLeadingZeros(xor);
+                    int trailing = Long.numberOfTrailingZeros(xor);
+                    if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                        // Значащие биты помещаются в окно предыдущего значения
+                        writer.writeBit(false);
+                        writer.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                    } else {
+                        int meaningful = 64 - leading - trailing;
+                        writer.writeBit(true);
+                        writer.writeBits(leading, 6);
+                        writer.writeBits(meaningful - 1, 6);
+                        writer.writeBits(xor >>> trailing, meaningful);
+                        previousLeading = leading;
+                        previousTrailing = trailing;
+                    }
+                }
+            }
+            previousX = xBits;
+            previousY = yBits;
+            index++;
+        }
+        byte[] data = writer.toByteArray();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + blockCount * INDEX_ENTRY_SIZE + data.length);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(blockSize).putInt(blockCount).putLong(data.length);
+        for (int i = 0; i < blockCount; i++) {
+            buffer.putLong(offsets[i]).putDouble(firstX[i]);
+        }
+        buffer.put(data);
+        logger.debug("Сжато {} точек в {} байт", count, buffer.capacity());
+        return buffer.array();
+    }
+
+    // Разность разностей в зигзаг-кодировке: префикс из единиц выбирает ширину поля
+    private static void writeDeltaOfDelta(BitWriter writer, long deltaOfDelta) {
+        long zigzag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+        if (zigzag == 0) {
+            writer.writeBit(false);
+        } else if (Long.compareUnsigned(zigzag, 1L << 7) < 0) {
+            writer.writeBits(0b10, 2);
+            writer.writeBits(zigzag, 7);
+        } else if (Long.compareUnsigned(zigzag, 1L << 9) < 0) {
+            writer.writeBits(0b110, 3);
+            writer.writeBits(zigzag, 9);
+        } else if (Long.compareUnsigned(zigzag, 1L << 16) < 0) {
+            writer.writeBits(0b1110, 4);
+            writer.writeBits(zigzag, 16);
+        } else if (Long.compareUnsigned(zigzag, 1L << 32) < 0) {
+            writer.writeBits(0b11110, 5);
+            writer.writeBits(zigzag, 32);
+        } else {
+            writer.writeBits(0b11111, 5);
+            writer.writeBits(zigzag, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader reader) {
+        int ones = 0;
+        while (ones < 5 && reader.readBit()) {
+            ones++;
+        }
+        long zigzag;
+        switch (ones) {
+            case 0:
+                return 0;
+            case 1:
+                zigzag = reader.readBits(7);
+                break;
+            case 2:
+                zigzag = reader.readBits(9);
+                break;
+            case 3:
+                zigzag = reader.readBits(16);
+                break;
+            case 4:
+                zigzag = reader.readBits(32);
+                break;
+            default:
+                zigzag = reader.readBits(64);
+                break;
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    // Декодирует points точек блока, начинающегося с байта offset, в xValues/yValues начиная с to
+    static void decodeBlock(byte[] bytes, int offset, int points, double[] xValues, double[] yValues, int to) {
+        BitReader reader = new BitReader(bytes, offset);
+        long x = reader.readBits(64);
+        long y = reader.readBits(64);
+        xValues[to] = Double.longBitsToDouble(x);
+        yValues[to] = Double.longBitsToDouble(y);
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < points; i++) {
+            delta += readDeltaOfDelta(reader);
+            x += delta;
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.readBits(6);
+                    trailing = 64 - leading - ((int) reader.readBits(6) + 1);
+                }
+                y ^= reader.readBits(64 - leading - trailing) << trailing;
+            }
+            xValues[to + i] = Double.longBitsToDouble(x);
+            yValues[to + i] = Double.longBitsToDouble(y);
+        }
+    }
+
+    // Полное декодирование в функцию, созданную фабрикой
+    public static TabulatedFunction decode(byte[] bytes, TabulatedFunctionFactory factory) throws IOException {
+        CompressedTabulatedFunction compressed = new CompressedTabulatedFunction(bytes);
+        int count = compressed.getCount();
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        compressed.decodeAll(xValues, yValues);
+        return factory.create(xValues, yValues);
+    }
+
+    public static void write(OutputStream outputStream, TabulatedFunction function) throws IOException {
+        write(outputStream, function, DEFAULT_BLOCK_SIZE);
+    }
+
+    public static void write(OutputStream outputStream, TabulatedFunction function, int blockSize)
+            throws IOException {
+        outputStream.write(encode(function, blockSize));
+        outputStream.flush();
+    }
+
+    // Читает из потока ровно одну сжатую функцию; значения декодируются по блокам при обращении
+    public static CompressedTabulatedFunction read(InputStream inputStream) throws IOException {
+        DataInputStream dataInputStream = new DataInputStream(inputStream);
+        byte[] header = new byte[HEADER_SIZE];
+        dataInputStream.readFully(header);
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        if (buffer.getInt(0) != MAGIC) {
+            logger.error("Поток не содержит сжатую функцию");
+            throw new IOException("Неверная сигнатура сжатого формата");
+        }
+        int blockCount = buffer.getInt(4 * Integer.BYTES);
+        long dataLength = buffer.getLong(5 * Integer.BYTES);
+        long length = HEADER_SIZE + (long) blockCount * INDEX_ENTRY_SIZE + dataLength;
+        if (blockCount < 1 || dataLength < 0 || length > Integer.MAX_VALUE) {
+            logger.error("Некорректный заголовок сжатого формата: блоков {}, длина данных {}", blockCount, dataLength);
+            throw new IOException("Некорректный заголовок сжатого формата");
+        }
+        byte[] bytes = new byte[(int) length];
+        System.arraycopy(header, 0, bytes, 0, HEADER_SIZE);
+        dataInputStream.readFully(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        return new CompressedTabulatedFunction(bytes);
+    }
+}
@@ -0,0 +1,216 @@
+package io;
+
+import functions.AbstractTabulatedFunction;
+import functions.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Табулированная функция только для чтения, отображенная на файл двоичного или колоночного формата
+// FunctionsIO без копирования значений в кучу. Файл отображается сегментами по 1 ГБ с перекрытием в 8 байт,
+// чтобы ни одно значение double не оказалось на границе сегментов.
+// Предполагается, что файл записан FunctionsIO и не изменяется, пока функция используется:
+// порядок x при открытии не проверяется, чтобы открытие не зависело от размера таблицы.
+public class MappedTabulatedFunction extends AbstractTabulatedFunction {
+    private static final Logger logger = LogManager.getLogger(MappedTabulatedFunction.class);
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_OVERLAP = Double.BYTES;
+
+    private final ByteBuffer[] segments;
+    // Смещения первого x и первого y в файле и расстояние между соседними значениями
+    private final long xOffset;
+    private final long yOffset;
+    private final long stride;
+
+    // Двоичный формат FunctionsIO (количество точек, затем пары x, y) или колоночный формат
+    public MappedTabulatedFunction(Path path) throws IOException {
+        this(path, readLayout(path));
+    }
+
+    private MappedTabulatedFunction(Path path, long[] layout) throws IOException {
+        this(path, (int) layout[0], layout[1], layout[2], layout[3]);
+    }
+
+    private MappedTabulatedFunction(Path path, int count, long xOffset, long yOffset, long stride) throws IOException {
+        logger.info("Отображение файла {} в память, количество точек: {}", path, count);
+        if (count < 2) {
+            logger.error("Некорректное количество точек в файле {}: {}", path, count);
+            throw new IOException("Количество точек должно быть не менее 2");
+        }
+        this.count = count;
+        this.xOffset = xOffset;
+        this.yOffset = yOffset;
+        this.stride = stride;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = Math.max(xOffset, yOffset) + (count - 1) * stride + Double.BYTES;
+            long size = channel.size();
+            if (size < end) {
+                logger.error("Файл {} обрезан: размер {}, ожидалось не менее {}", path, size, end);
+                throw new IOException("Файл короче, чем требует количество точек: " + size + " < " + end);
+            }
+            int segmentCount = (int) ((end + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+            segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i << SEGMENT_SHIFT;
+                long length = Math.min(SEGMENT_SIZE + SEGMENT_OVERLAP, size - start);
+                // Отображение остается действительным после закрытия канала
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+        }
+        logger.debug("Файл {} отображен сегментами: {}", path, segments.length);
+    }
+
+    // Количество точек, смещения первых x и y и шаг между значениями
+    private static long[] readLayout(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FunctionsIO.COLUMNAR_HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Читаем заголовок целиком или до конца файла
+            }
+        }
+        if (header.position() < Integer.BYTES) {
+            throw new IOException("Файл пуст");
+        }
+        if (header.getInt(0) != FunctionsIO.COLUMNAR_MAGIC) {
+            return new long[]{header.getInt(0), Integer.BYTES, Integer.BYTES + Double.BYTES, 2 * Double.BYTES};
+        }
+        if (header.position() < FunctionsIO.COLUMNAR_HEADER_SIZE) {
+            throw new IOException("Заголовок колоночного формата обрезан");
+        }
+        int version = header.getInt(Integer.BYTES);
+        if (version != FunctionsIO.COLUMNAR_VERSION) {
+            logger.error("Неподдерживаемая версия колоночного формата: {}", version);
+            throw new IOException("Неподдерживаемая версия формата: " + version);
+        }
+        long count = header.getInt(2 * Integer.BYTES);
+        long xOffset = FunctionsIO.COLUMNAR_HEADER_SIZE;
+        return new long[]{count, xOffset, xOffset + count * Double.BYTES, Double.BYTES};
+    }
+
+    private double readDouble(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getDouble((int) (offset & (SEGMENT_SIZE - 1)));
+    }
+
+    private static void checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + count);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public double getX(int index) {
+        checkIndex(index, count);
+        return readDouble(xOffset + index * stride);
+    }
+
+    @Override
+    public double getY(int index) {
+        checkIndex(index, count);
+        return readDouble(yOffset + index * stride);
+    }
+
+    @Override
+    public void setY(int index, double value) {
+        throw new UnsupportedOperationException("MappedTabulatedFunction доступна только для чтения");
+    }
+
+    @Override
+    public int indexOfX(double x) {
+        int index = floorIndex(x);
+        return index >= 0 && getX(index) == x ? index : -1;
+    }
+
+    @Override
+    public int indexOfY(double y) {
+        for (int i = 0; i < count; i++) {
+            if (getY(i) == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public double leftBound() {
+        return getX(0);
+    }
+
+    @Override
+    public double rightBound() {
+        return getX(count - 1);
+    }
+
+    // Последний индекс с x[i] <= x, -1 если x левее таблицы
+    private int floorIndex(double x) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (getX(middle) <= x) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    protected int floorIndexOfX(double x) {
+        if (x < leftBound()) {
+            logger.error("x={} меньше левой границы {}", x, leftBound());
+            throw new IllegalArgumentException("x меньше левой границы: " + x + " < " + leftBound());
+        }
+        return floorIndex(x);
+    }
+
+    @Override
+    protected double extrapolateLeft(double x) {
+        return interpolate(x, getX(0), getX(1), getY(0), getY(1));
+    }
+
+    @Override
+    protected double extrapolateRight(double x) {
+        return interpolate(x, getX(count - 2), getX(count - 1), getY(count - 2), getY(count - 1));
+    }
+
+    @Override
+    protected double interpolate(double x, int floorIndex) {
+        return interpolate(x, getX(floorIndex), getX(floorIndex + 1), getY(floorIndex), getY(floorIndex + 1));
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return new Iterator<Point>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < count;
+            }
+
+            @Override
+            public Point next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет больше элементов");
+                }
+                Point point = new Point(getX(i), getY(i));
+                i++;
+                return point;
+            }
+        };
+    }
+}
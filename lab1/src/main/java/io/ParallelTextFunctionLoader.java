@@ -0,0 +1,249 @@
+package io;
+
+import exceptions.TabulatedFunctionParseException;
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Параллельное чтение текстового формата FunctionsIO из файла. Файл отображается в память и делится
+// на фрагменты по границам строк; первый проход параллельно считает строки во фрагментах, чтобы
+// узнать индекс первой точки каждого фрагмента, второй - разбирает фрагменты TabulatedFunctionTextParser
+// сразу в общие массивы x/y. Как и при последовательном чтении, строки после последней точки не читаются.
+public class ParallelTextFunctionLoader implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(ParallelTextFunctionLoader.class);
+    private static final int DEFAULT_MIN_CHUNK_SIZE = 1 << 20;
+    // Фрагментов больше, чем потоков, чтобы неравные по времени фрагменты не простаивали
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int READER_BUFFER_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+    private final int minChunkSize;
+
+    // Использует общий пул ForkJoinPool.commonPool()
+    public ParallelTextFunctionLoader() {
+        this(ForkJoinPool.commonPool(), false, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    // Создает собственный пул с заданным уровнем параллелизма, его нужно закрыть через close()
+    public ParallelTextFunctionLoader(int parallelism) {
+        this(new ForkJoinPool(parallelism), true, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    public ParallelTextFunctionLoader(ForkJoinPool pool, int minChunkSize) {
+        this(pool, false, minChunkSize);
+    }
+
+    private ParallelTextFunctionLoader(ForkJoinPool pool, boolean ownPool, int minChunkSize) {
+        if (minChunkSize < 1) {
+            throw new IllegalArgumentException("Размер фрагмента должен быть положительным: " + minChunkSize);
+        }
+        this.pool = pool;
+        this.ownPool = ownPool;
+        this.minChunkSize = minChunkSize;
+    }
+
+    // Фрагмент файла [from, to), начинающийся с начала строки
+    private static final class Chunk {
+        final int from;
+        final int to;
+        int lines;
+        // Индекс первой точки фрагмента
+        int firstPoint;
+
+        Chunk(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    // Символы ASCII из области отображенного файла; числа текстового формата состоят только из них
+    private static final class AsciiReader extends Reader {
+        private final ByteBuffer buffer;
+
+        AsciiReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            for (int i = 0; i < count; i++) {
+                target[offset + i] = (char) (buffer.get() & 0xFF);
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static BufferedReader reader(ByteBuffer file, int from, int to) {
+        ByteBuffer slice = file.duplicate();
+        slice.position(from).limit(to);
+        return new BufferedReader(new AsciiReader(slice.slice()), READER_BUFFER_SIZE);
+    }
+
+    public TabulatedFunction load(Path path, TabulatedFunctionFactory factory) throws IOException {
+        long size = Files.size(path);
+        logger.info("Параллельное чтение текстового файла {}, размер: {}, параллелизм: {}", path, size,
+            pool.getParallelism());
+        if (size > Integer.MAX_VALUE) {
+            // Отображение одним буфером ограничено 2 ГБ
+            logger.warn("Файл {} больше 2 ГБ, используется последовательное чтение", path);
+            try (BufferedReader reader = Files.newBufferedReader(path)) {
+                return new TabulatedFunctionTextParser(reader).parse(factory);
+            }
+        }
+        if (size == 0) {
+            logger.error("Файл {} пуст при попытке чтения функции", path);
+            throw new TabulatedFunctionParseException("Файл пуст", 1, 1);
+        }
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int headerEnd = nextLineStart(file, 0);
+        int count = new TabulatedFunctionTextParser(reader(file, 0, headerEnd)).parseCount();
+        logger.debug("Прочитано количество точек: {}", count);
+
+        List<Chunk> chunks = split(file, headerEnd);
+        invoke(chunks, chunk -> chunk.lines = countLines(file, chunk));
+        // Строка 1 - количество точек, точки начинаются со строки 2
+        int point = 0;
+        for (Chunk chunk : chunks) {
+            chunk.firstPoint = point;
+            point = (int) Math.min(count, (long) point + chunk.lines);
+        }
+        if (point < count) {
+            logger.error("В файле {} только {} точек из {}", path, point, count);
+            throw new TabulatedFunctionParseException("Неожиданный конец файла", point + 2, 1);
+        }
+
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        invoke(chunks, chunk -> {
+            int length = Math.min(chunk.lines, count - chunk.firstPoint);
+            if (length > 0) {
+                new TabulatedFunctionTextParser(reader(file, chunk.from, chunk.to), chunk.firstPoint + 2)
+                    .parsePoints(xValues, yValues, chunk.firstPoint, length);
+            }
+        });
+        logger.debug("Прочитано {} точек в {} фрагментах, границы: [{}, {}]", count, chunks.size(), xValues[0],
+            xValues[count - 1]);
+        return factory.create(xValues, yValues);
+    }
+
+    private interface ChunkTask {
+        void run(Chunk chunk) throws IOException;
+    }
+
+    private void invoke(List<Chunk> chunks, ChunkTask task) throws IOException {
+        List<Callable<Void>> tasks = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            tasks.add(() -> {
+                try {
+                    task.run(chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        }
+        // Ошибка возвращается из фрагмента с наименьшим номером строки, как при последовательном чтении
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Чтение прервано", e);
+            } catch (ExecutionException e) {
+                // ForkJoinPool может дополнительно обернуть исключение задачи, исходное ищется по цепочке причин
+                for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                    if (cause instanceof UncheckedIOException) {
+                        throw ((UncheckedIOException) cause).getCause();
+                    }
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    // Делит [from, size) на фрагменты примерно равного размера, сдвигая границы на начало следующей строки
+    private List<Chunk> split(ByteBuffer file, int from) {
+        int size = file.limit();
+        long length = size - from;
+        int chunkCount = (int) Math.max(1, Math.min((long) pool.getParallelism() * CHUNKS_PER_THREAD,
+            length / minChunkSize));
+        List<Chunk> chunks = new ArrayList<>(chunkCount);
+        int start = from;
+        for (int i = 1; i <= chunkCount && start < size; i++) {
+            int end = i == chunkCount ? size : nextLineStart(file, (int) Math.max(start, from + length * i / chunkCount));
+            if (end > start) {
+                chunks.add(new Chunk(start, end));
+                start = end;
+            }
+        }
+        return chunks;
+    }
+
+    // Позиция после ближайшего '\n' начиная с position, или конец файла
+    private static int nextLineStart(ByteBuffer file, int position) {
+        int size = file.limit();
+        while (position < size && file.get(position) != '\n') {
+            position++;
+        }
+        return Math.min(position + 1, size);
+    }
+
+    // Количество строк фрагмента; последняя строка файла может не заканчиваться '\n'
+    private static int countLines(ByteBuffer file, Chunk chunk) {
+        int lines = 0;
+        for (int i = chunk.from; i < chunk.to; i++) {
+            if (file.get(i) == '\n') {
+                lines++;
+            }
+        }
+        if (file.get(chunk.to - 1) != '\n') {
+            lines++;
+        }
+        return lines;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // Закрывает пул, только если он создан загрузчиком
+    @Override
+    public void close() {
+        if (ownPool) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io;
+
+import functions.ArrayTabulatedFunction;
+import functions.LinkedListTabulatedFunction;
+import functions.Point;
+import functions.SqrFunction;
+import functions.TabulatedFunction;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+
+// Размер и скорость сериализации табулированных функций через FunctionsIO.serialize в сравнении
+// со стандартной формой сериализации связного списка (граф узлов с ссылками next/prev),
+// которая использовалась до writeObject/readObject
+public class SerializationBenchmark {
+    private static final int ROUNDS = 5;
+
+    // Та же структура, что у прежнего LinkedListTabulatedFunction.Node со стандартной сериализацией
+    private static class LegacyNode implements Serializable {
+        private static final long serialVersionUID = 1L;
+        double x;
+        double y;
+        LegacyNode next;
+        LegacyNode prev;
+    }
+
+    private static class LegacyList implements Serializable {
+        private static final long serialVersionUID = 1L;
+        int count;
+        LegacyNode head;
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        // Логирование каждого узла при создании функций искажает замеры
+        Configurator.setAllLevels(LogManager.ROOT_LOGGER_NAME, Level.WARN);
+        int[] sizes = {1_000, 10_000, 100_000, 1_000_000};
+
+        System.out.println("Точек    | Форма              | Байт        | Запись, мс | Чтение, мс");
+        for (int size : sizes) {
+            TabulatedFunction array = new ArrayTabulatedFunction(new SqrFunction(), 0, size - 1, size);
+            TabulatedFunction linkedList = new LinkedListTabulatedFunction(new SqrFunction(), 0, size - 1, size);
+
+            measure(size, "Array", array);
+            measure(size, "LinkedList", linkedList);
+            measure(size, "LinkedList (старая)", toLegacy(linkedList));
+        }
+    }
+
+    private static LegacyList toLegacy(TabulatedFunction function) {
+        LegacyList list = new LegacyList();
+        LegacyNode last = null;
+        for (Point point : function) {
+            LegacyNode node = new LegacyNode();
+            node.x = point.x;
+            node.y = point.y;
+            if (last == null) {
+                list.head = node;
+            } else {
+                last.next = node;
+                node.prev = last;
+            }
+            last = node;
+        }
+        last.next = list.head;
+        list.head.prev = last;
+        list.count = function.getCount();
+        return list;
+    }
+
+    private static void measure(int size, String name, Object value) throws IOException, ClassNotFoundException {
+        byte[] bytes = null;
+        long writeNanos = Long.MAX_VALUE;
+        long readNanos = Long.MAX_VALUE;
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                bytes = serialize(value);
+                writeNanos = Math.min(writeNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                deserialize(bytes);
+                readNanos = Math.min(readNanos, System.nanoTime() - start);
+            }
+        } catch (StackOverflowError e) {
+            // Стандартная форма сериализует список рекурсивно по ссылкам next
+            System.out.printf("%-8d | %-18s | переполнение стека%n", size, name);
+            return;
+        }
+        System.out.printf("%-8d | %-18s | %11d | %10.2f | %10.2f%n",
+            size, name, bytes.length, writeNanos / 1e6, readNanos / 1e6);
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedOutputStream stream = new BufferedOutputStream(bytes);
+        if (value instanceof TabulatedFunction) {
+            FunctionsIO.serialize(stream, (TabulatedFunction) value);
+        } else {
+            ObjectOutputStream out = new ObjectOutputStream(stream);
+            out.writeObject(value);
+            out.flush();
+        }
+        stream.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        BufferedInputStream stream = new BufferedInputStream(new ByteArrayInputStream(bytes));
+        return new ObjectInputStream(stream).readObject();
+    }
+}
@@ -0,0 +1,386 @@
+package io;
+
+import functions.Point;
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Архив многих функций в одном файле с доступом по ключу. Функции дописываются в конец файла
+// в двоичном формате FunctionsIO, при flush/close в конец записывается индекс (ключ, смещение,
+// длина, количество точек, границы) и завершающий блок со смещением индекса и CRC32. Открытие читает
+// завершающий блок и индекс, после чего функция или ее метаданные загружаются одним чтением.
+// Замененные и удаленные записи, а также прежние индексы остаются в файле до compact.
+// Записи, добавленные после последнего flush, при аварийном завершении теряются, но архив
+// на момент flush сохраняется: если в конце файла нет индекса, открытие ищет последний целый индекс с конца.
+public class TabulatedFunctionArchive implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(TabulatedFunctionArchive.class);
+    static final int MAGIC = 0xFA7AB1EA;
+    // Смещение индекса, количество записей индекса, CRC32 индекса вместе с двумя предыдущими полями, MAGIC
+    static final int TRAILER_SIZE = Long.BYTES + 3 * Integer.BYTES;
+    // Запись индекса без ключа: длина ключа, смещение, длина, количество точек, границы
+    private static final int MIN_ENTRY_SIZE = Short.BYTES + 2 * Long.BYTES + Integer.BYTES + 2 * Double.BYTES;
+    // Ключ записывается через writeUTF, длина которого ограничена 65535 байтами
+    static final int MAX_KEY_LENGTH = 0xFFFF;
+    private static final int MAX_ENTRY_SIZE = MIN_ENTRY_SIZE + MAX_KEY_LENGTH;
+    private static final int SCAN_BLOCK_SIZE = 1 << 16;
+
+    // Описание функции в индексе архива
+    public static final class Metadata {
+        public final String key;
+        public final long offset;
+        public final long length;
+        public final int count;
+        public final double leftBound;
+        public final double rightBound;
+
+        Metadata(String key, long offset, long length, int count, double leftBound, double rightBound) {
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+            this.leftBound = leftBound;
+            this.rightBound = rightBound;
+        }
+    }
+
+    private final Path path;
+    private FileChannel channel;
+    private final Map<String, Metadata> index = new LinkedHashMap<>();
+    // Смещение, с которого дописывается следующая запись
+    private long end;
+    // Размер последнего записанного индекса вместе с завершающим блоком
+    private long indexSize;
+    // Есть ли изменения, не отраженные в индексе на диске
+    private boolean dirty;
+
+    // Открывает существующий архив или создает новый
+    public TabulatedFunctionArchive(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            this.end = channel.size();
+            if (end > 0) {
+                readIndex();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        logger.info("Открыт архив {}, функций: {}, размер: {}", path, index.size(), end);
+    }
+
+    // Обычно индекс заканчивается в конце файла. Если после последнего flush были дописаны записи,
+    // а архив не закрыт, индекс ищется с конца по MAGIC и проверяется по CRC32
+    private void readIndex() throws IOException {
+        if (end < TRAILER_SIZE) {
+            logger.error("Файл {} слишком мал для архива: {}", path, end);
+            throw new IOException("Файл не является архивом функций: " + path);
+        }
+        if (tryReadIndex(end)) {
+            return;
+        }
+        logger.warn("В конце архива {} нет индекса, поиск последнего записанного индекса", path);
+        long lowest = TRAILER_SIZE - Integer.BYTES;
+        // Позиция начала MAGIC, еще не проверенная; позиция в самом конце уже проверена
+        long high = end - Integer.BYTES - 1;
+        while (high >= lowest) {
+            long from = Math.max(lowest, high - SCAN_BLOCK_SIZE + 1);
+            ByteBuffer block = readAt(from, (int) (high - from) + Integer.BYTES);
+            for (int i = (int) (high - from); i >= 0; i--) {
+                long trailerEnd = from + i + Integer.BYTES;
+                if (block.getInt(i) == MAGIC && tryReadIndex(trailerEnd)) {
+                    logger.warn("Архив {} восстановлен по индексу, заканчивающемуся на смещении {}, потеряно {} байт",
+                        path, trailerEnd, end - trailerEnd);
+                    return;
+                }
+            }
+            high = from - 1;
+        }
+        logger.error("В файле {} не найден индекс архива", path);
+        throw new IOException("Файл не является архивом функций: " + path);
+    }
+
+    // Читает индекс, завершающий блок которого заканчивается на trailerEnd; false, если блок или индекс не целы
+    private boolean tryReadIndex(long trailerEnd) throws IOException {
+        ByteBuffer trailer = readAt(trailerEnd - TRAILER_SIZE, TRAILER_SIZE);
+        long indexOffset = trailer.getLong();
+        int entries = trailer.getInt();
+        int checksum = trailer.getInt();
+        if (trailer.getInt() != MAGIC) {
+            return false;
+        }
+        long indexLength = trailerEnd - TRAILER_SIZE - indexOffset;
+        if (indexOffset < 0 || entries < 0 || indexLength < (long) entries * MIN_ENTRY_SIZE
+                || indexLength > (long) entries * MAX_ENTRY_SIZE || indexLength > Integer.MAX_VALUE - TRAILER_SIZE) {
+            return false;
+        }
+        // Контрольная сумма охватывает индекс, смещение индекса и количество записей
+        ByteBuffer buffer = readAt(indexOffset, (int) indexLength + Long.BYTES + Integer.BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit());
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+
+        Map<String, Metadata> entriesRead = new LinkedHashMap<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array(), 0, (int) indexLength));
+        for (int i = 0; i < entries; i++) {
+            String key = in.readUTF();
+            Metadata metadata = new Metadata(key, in.readLong(), in.readLong(), in.readInt(), in.readDouble(),
+                in.readDouble());
+            if (metadata.offset < 0 || metadata.length < 0 || metadata.offset + metadata.length > indexOffset) {
+                throw new IOException("Запись индекса указывает за пределы данных: " + key);
+            }
+            entriesRead.put(key, metadata);
+        }
+        if (in.available() != 0) {
+            throw new IOException("Поврежден индекс архива: " + path);
+        }
+        index.putAll(entriesRead);
+        indexSize = trailerEnd - indexOffset;
+        logger.debug("Прочитан индекс архива {}: {} записей, {} байт", path, entries, indexLength);
+        return true;
+    }
+
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Неожиданный конец архива " + path);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeAt(long position, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void checkOpen() {
+        if (channel == null) {
+            throw new IllegalStateException("Архив закрыт: " + path);
+        }
+    }
+
+    // Длина ключа в модифицированной UTF-8, как ее считает DataOutputStream.writeUTF
+    private static long encodedKeyLength(String key) {
+        long length = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c <= 0x07FF) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // Дописывает функцию; прежняя функция с тем же ключом заменяется
+    public synchronized void put(String key, TabulatedFunction function) throws IOException {
+        checkOpen();
+        if (key == null) {
+            throw new IllegalArgumentException("Ключ не может быть null");
+        }
+        // Проверяется до записи функции: ключ, не помещающийся в индекс, сделал бы невозможным любой flush
+        if (encodedKeyLength(key) > MAX_KEY_LENGTH) {
+            logger.error("Ключ длиной {} символов не помещается в индекс архива {}", key.length(), path);
+            throw new IllegalArgumentException("Ключ длиннее " + MAX_KEY_LENGTH + " байт в модифицированной UTF-8");
+        }
+        int count = function.getCount();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + count * 2 * Double.BYTES);
+        buffer.putInt(count);
+        for (Point point : function) {
+            buffer.putDouble(point.x).putDouble(point.y);
+        }
+        buffer.flip();
+        Metadata metadata = new Metadata(key, end, buffer.remaining(), count, function.leftBound(),
+            function.rightBound());
+        writeAt(end, buffer);
+        end += metadata.length;
+        index.put(key, metadata);
+        dirty = true;
+        logger.debug("В архив {} добавлена функция {}: {} точек, смещение {}", path, key, count, metadata.offset);
+    }
+
+    public synchronized TabulatedFunction get(String key, TabulatedFunctionFactory factory) throws IOException {
+        checkOpen();
+        Metadata metadata = getMetadata(key);
+        ByteBuffer buffer = readAt(metadata.offset, (int) metadata.length);
+        int count = buffer.getInt();
+        if (count != metadata.count) {
+            logger.error("Количество точек функции {} не совпадает с индексом: {} != {}", key, count, metadata.count);
+            throw new IOException("Запись архива не совпадает с индексом: " + key);
+        }
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            xValues[i] = buffer.getDouble();
+            yValues[i] = buffer.getDouble();
+        }
+        return factory.create(xValues, yValues);
+    }
+
+    // Метаданные из индекса без чтения точек
+    public synchronized Metadata getMetadata(String key) {
+        Metadata metadata = index.get(key);
+        if (metadata == null) {
+            throw new NoSuchElementException("В архиве нет функции с ключом " + key);
+        }
+        return metadata;
+    }
+
+    public synchronized boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    // Ключи в порядке добавления
+    public synchronized Set<String> keys() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(index.keySet()));
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized boolean remove(String key) {
+        checkOpen();
+        boolean removed = index.remove(key) != null;
+        dirty |= removed;
+        return removed;
+    }
+
+    // Байты файла, не занятые действующими записями и последним записанным индексом
+    public synchronized long getGarbageSize() {
+        long live = indexSize;
+        for (Metadata metadata : index.values()) {
+            live += metadata.length;
+        }
+        return end - live;
+    }
+
+    // Дописывает индекс и сбрасывает файл на диск
+    public synchronized void flush() throws IOException {
+        checkOpen();
+        if (!dirty) {
+            return;
+        }
+        indexSize = writeIndex(channel, end, index);
+        end += indexSize;
+        channel.force(false);
+        dirty = false;
+        logger.debug("Индекс архива {} записан, размер файла: {}", path, end);
+    }
+
+    // Возвращает количество записанных байт индекса вместе с завершающим блоком
+    private static long writeIndex(FileChannel target, long position, Map<String, Metadata> entries)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Metadata metadata : entries.values()) {
+            out.writeUTF(metadata.key);
+            out.writeLong(metadata.offset);
+            out.writeLong(metadata.length);
+            out.writeInt(metadata.count);
+            out.writeDouble(metadata.leftBound);
+            out.writeDouble(metadata.rightBound);
+        }
+        out.writeLong(position);
+        out.writeInt(entries.size());
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.writeInt(MAGIC);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+        return buffer.capacity();
+    }
+
+    // Переписывает действующие записи во временный файл рядом с архивом и атомарно заменяет им архив
+    public synchronized void compact() throws IOException {
+        checkOpen();
+        long before = end;
+        Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        Map<String, Metadata> compacted = new LinkedHashMap<>();
+        long compactedIndexSize;
+        try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Metadata metadata : index.values()) {
+                long from = metadata.offset;
+                long remaining = metadata.length;
+                while (remaining > 0) {
+                    long transferred = channel.transferTo(from, remaining, target);
+                    from += transferred;
+                    remaining -= transferred;
+                }
+                compacted.put(metadata.key, new Metadata(metadata.key, position, metadata.length, metadata.count,
+                    metadata.leftBound, metadata.rightBound));
+                position += metadata.length;
+            }
+            compactedIndexSize = writeIndex(target, position, compacted);
+            target.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        // Канал закрывается до замены файла; при ошибке замены архив остается прежним
+        channel.close();
+        try {
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        } finally {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        index.clear();
+        index.putAll(compacted);
+        indexSize = compactedIndexSize;
+        end = channel.size();
+        dirty = false;
+        logger.info("Архив {} сжат: {} -> {} байт", path, before, end);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+        logger.info("Архив {} закрыт, функций: {}", path, index.size());
+    }
+}
@@ -0,0 +1,149 @@
+package io;
+
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Последовательное чтение файла из многих функций двоичного формата FunctionsIO, записанных подряд.
+// Память ограничена одной записью: буфер чтения переиспользуется всегда, next создает для каждой записи
+// новые массивы x/y (фабрика может оставить их у себя), а в режиме readPoints точки передаются
+// обработчику без выделения массивов и создания функции вовсе.
+public class TabulatedFunctionStreamReader implements Iterator<TabulatedFunction>, AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(TabulatedFunctionStreamReader.class);
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int POINT_SIZE = 2 * Double.BYTES;
+
+    // Обработчик точек одной записи
+    public interface PointConsumer {
+        void accept(int index, double x, double y);
+    }
+
+    private final InputStream stream;
+    private final TabulatedFunctionFactory factory;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long recordCount;
+
+    public TabulatedFunctionStreamReader(InputStream stream, TabulatedFunctionFactory factory) {
+        this.stream = stream;
+        this.factory = factory;
+        buffer.limit(0);
+    }
+
+    // Дочитывает в буфер, пока в нем не окажется хотя бы required байт; false - поток закончился раньше
+    private boolean ensure(int required) throws IOException {
+        if (buffer.remaining() >= required) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < required) {
+            int read = stream.read(buffer.array(), buffer.position(), buffer.remaining());
+            if (read < 0) {
+                buffer.flip();
+                return false;
+            }
+            buffer.position(buffer.position() + read);
+        }
+        buffer.flip();
+        return true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return ensure(1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public TabulatedFunction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Больше нет функций в потоке");
+        }
+        try {
+            int count = readCount();
+            double[] xValues = new double[count];
+            double[] yValues = new double[count];
+            readPoints(count, (index, x, y) -> {
+                xValues[index] = x;
+                yValues[index] = y;
+            });
+            return factory.create(xValues, yValues);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Передает обработчику точки следующей записи, возвращает количество точек или -1 в конце потока
+    public int readPoints(PointConsumer consumer) throws IOException {
+        if (!ensure(1)) {
+            return -1;
+        }
+        int count = readCount();
+        readPoints(count, consumer);
+        return count;
+    }
+
+    private int readCount() throws IOException {
+        if (!ensure(Integer.BYTES)) {
+            logger.error("Обрезан заголовок записи {}", recordCount);
+            throw new EOFException("Неожиданный конец файла в заголовке записи " + recordCount);
+        }
+        int count = buffer.getInt();
+        if (count < 2) {
+            logger.error("Некорректное количество точек в записи {}: {}", recordCount, count);
+            throw new IOException("Количество точек должно быть не менее 2, запись " + recordCount);
+        }
+        return count;
+    }
+
+    private void readPoints(int count, PointConsumer consumer) throws IOException {
+        int index = 0;
+        while (index < count) {
+            if (!ensure(POINT_SIZE)) {
+                logger.error("Неожиданный конец файла в записи {} на точке {}", recordCount, index);
+                throw new EOFException("Неожиданный конец файла в записи " + recordCount);
+            }
+            int available = Math.min(count - index, buffer.remaining() / POINT_SIZE);
+            for (int i = 0; i < available; i++) {
+                consumer.accept(index++, buffer.getDouble(), buffer.getDouble());
+            }
+        }
+        logger.debug("Прочитана запись {}, количество точек: {}", recordCount, count);
+        recordCount++;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    // Последовательный поток функций; закрытие потока закрывает исходный InputStream
+    public Stream<TabulatedFunction> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false).onClose(() -> {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
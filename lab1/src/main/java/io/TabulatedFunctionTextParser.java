@@ -0,0 +1,295 @@
+package io;
+
+import exceptions.TabulatedFunctionParseException;
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Разбор текстового формата FunctionsIO (количество точек, затем строки "x y") без создания строк:
+// символы читаются блоками в собственный буфер, числа собираются из цифр напрямую.
+// Десятичный разделитель - запятая или точка, допускаются экспонента, NaN и Infinity.
+// Из BufferedReader извлекается ровно столько символов, сколько занимает функция.
+public class TabulatedFunctionTextParser {
+    private static final Logger logger = LogManager.getLogger(TabulatedFunctionTextParser.class);
+    private static final int BUFFER_SIZE = 8192;
+    // Точно представимые степени десяти
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Мантисса из не более 15 цифр точно представима в double
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final int MAX_MANTISSA_DIGITS = 19;
+
+    private final BufferedReader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    // Установлена ли в reader метка на начало текущего содержимого буфера
+    private boolean marked;
+    private int line = 1;
+    private int column = 1;
+    // Символы текущего числа для медленного пути разбора
+    private char[] numberChars = new char[64];
+    private int numberLength;
+
+    public TabulatedFunctionTextParser(BufferedReader reader) {
+        this(reader, 1);
+    }
+
+    // Разбор фрагмента файла: номера строк в ошибках отсчитываются от firstLine
+    TabulatedFunctionTextParser(BufferedReader reader, int firstLine) {
+        this.reader = reader;
+        this.line = firstLine;
+    }
+
+    public TabulatedFunction parse(TabulatedFunctionFactory factory) throws IOException {
+        try {
+            if (peek() < 0) {
+                logger.error("Файл пуст при попытке чтения функции");
+                throw error("Файл пуст");
+            }
+            int count = parseCount();
+            logger.debug("Прочитано количество точек: {}", count);
+
+            double[] xValues = new double[count];
+            double[] yValues = new double[count];
+            parsePoints(xValues, yValues, 0, count);
+            logger.debug("Прочитано {} точек, границы: [{}, {}]", count, xValues[0], xValues[count - 1]);
+            return factory.create(xValues, yValues);
+        } finally {
+            release();
+        }
+    }
+
+    // Строка с количеством точек
+    int parseCount() throws IOException {
+        skipSpaces();
+        int startColumn = column;
+        long value = 0;
+        int digits = 0;
+        int c;
+        while ((c = peek()) >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new TabulatedFunctionParseException("Слишком большое количество точек", line, startColumn);
+            }
+            digits++;
+            advance();
+        }
+        if (digits == 0) {
+            throw error("Ожидалось количество точек");
+        }
+        endOfLine();
+        if (value < 2) {
+            logger.error("Некорректное количество точек при чтении: {}", value);
+            throw new TabulatedFunctionParseException("Количество точек должно быть не менее 2", line - 1, startColumn);
+        }
+        return (int) value;
+    }
+
+    // Строки "x y" в xValues/yValues начиная с индекса from
+    void parsePoints(double[] xValues, double[] yValues, int from, int length) throws IOException {
+        for (int i = from; i < from + length; i++) {
+            if (peek() < 0) {
+                logger.error("Неожиданный конец файла при чтении точки с индексом {}", i);
+                throw error("Неожиданный конец файла");
+            }
+            skipSpaces();
+            xValues[i] = parseDouble();
+            int separator = peek();
+            if (separator != ' ' && separator != '\t') {
+                throw error("Ожидался пробел между x и y");
+            }
+            skipSpaces();
+            yValues[i] = parseDouble();
+            endOfLine();
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            fill();
+        }
+        return position < limit ? buffer[position] : -1;
+    }
+
+    private void advance() {
+        position++;
+        column++;
+    }
+
+    private void fill() throws IOException {
+        reader.mark(BUFFER_SIZE);
+        marked = true;
+        int read = reader.read(buffer, 0, BUFFER_SIZE);
+        position = 0;
+        limit = Math.max(read, 0);
+    }
+
+    // Возвращает в reader прочитанные в буфер, но не разобранные символы
+    private void release() throws IOException {
+        if (marked) {
+            reader.reset();
+            long skipped = 0;
+            while (skipped < position) {
+                skipped += reader.skip(position - skipped);
+            }
+            marked = false;
+            position = 0;
+            limit = 0;
+        }
+    }
+
+    private void skipSpaces() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\t') {
+            advance();
+        }
+    }
+
+    private void endOfLine() throws IOException {
+        skipSpaces();
+        int c = peek();
+        if (c == '\r') {
+            advance();
+            c = peek();
+        }
+        if (c == '\n') {
+            advance();
+        } else if (c >= 0) {
+            throw error("Лишние символы в конце строки");
+        }
+        line++;
+        column = 1;
+    }
+
+    private TabulatedFunctionParseException error(String message) {
+        return new TabulatedFunctionParseException(message, line, column);
+    }
+
+    private void remember(int c) {
+        if (numberLength == numberChars.length) {
+            char[] larger = new char[numberChars.length * 2];
+            System.arraycopy(numberChars, 0, larger, 0, numberLength);
+            numberChars = larger;
+        }
+        numberChars[numberLength++] = (char) c;
+    }
+
+    private double parseDouble() throws IOException {
+        int startColumn = column;
+        numberLength = 0;
+        boolean negative = false;
+        int c = peek();
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            remember(c);
+            advance();
+            c = peek();
+        }
+        if (c == 'N' || c == 'I') {
+            double special = c == 'N' ? Double.NaN : Double.POSITIVE_INFINITY;
+            expectWord(c == 'N' ? "NaN" : "Infinity", startColumn);
+            return negative ? -special : special;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+        boolean truncated = false;
+        while (c >= '0' && c <= '9') {
+            anyDigits = true;
+            if (mantissa != 0 || c != '0') {
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                } else {
+                    exponent++;
+                    truncated = true;
+                }
+            }
+            remember(c);
+            advance();
+            c = peek();
+        }
+        if (c == ',' || c == '.') {
+            remember('.');
+            advance();
+            c = peek();
+            while (c >= '0' && c <= '9') {
+                anyDigits = true;
+                if (mantissa == 0 && c == '0') {
+                    exponent--;
+                } else if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    exponent--;
+                } else {
+                    truncated = true;
+                }
+                remember(c);
+                advance();
+                c = peek();
+            }
+        }
+        if (!anyDigits) {
+            throw new TabulatedFunctionParseException("Ожидалось число", line, startColumn);
+        }
+        if (c == 'e' || c == 'E') {
+            remember(c);
+            advance();
+            c = peek();
+            boolean negativeExponent = false;
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                remember(c);
+                advance();
+                c = peek();
+            }
+            if (c < '0' || c > '9') {
+                throw error("Ожидался показатель степени");
+            }
+            int value = 0;
+            while (c >= '0' && c <= '9') {
+                // Показатель ограничивается: за пределами double результат все равно 0 или бесконечность
+                value = Math.min(value * 10 + (c - '0'), 100_000);
+                remember(c);
+                advance();
+                c = peek();
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (c >= 0 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+            throw error("Некорректный символ в числе");
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0.0;
+        } else if (!truncated && digits <= MAX_FAST_DIGITS && exponent >= -22 && exponent <= 22) {
+            // Быстрый путь Клингера: мантисса и степень десяти точны, результат округляется один раз
+            value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return Double.parseDouble(new String(numberChars, 0, numberLength));
+        }
+        return negative ? -value : value;
+    }
+
+    private void expectWord(String word, int startColumn) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            if (peek() != word.charAt(i)) {
+                throw new TabulatedFunctionParseException("Ожидалось число", line, startColumn);
+            }
+            advance();
+        }
+        int c = peek();
+        if (c >= 0 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+            throw error("Некорректный символ в числе");
+        }
+    }
+}
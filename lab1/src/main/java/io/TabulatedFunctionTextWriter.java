@@ -0,0 +1,150 @@
+package io;
+
+import functions.Point;
+import functions.TabulatedFunction;
+import java.io.IOException;
+import java.io.Writer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Запись текстового формата FunctionsIO без потери точности: каждое значение записывается так,
+// что TabulatedFunctionTextParser восстанавливает его бит в бит. Короткие десятичные значения
+// форматируются напрямую в переиспользуемый буфер, остальные - через Double.toString.
+public class TabulatedFunctionTextWriter {
+    private static final Logger logger = LogManager.getLogger(TabulatedFunctionTextWriter.class);
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9
+    };
+    // Мантисса короткой записи должна попадать в быстрый путь парсера (не более 15 цифр)
+    private static final double MAX_FAST_MANTISSA = 1e15;
+    private static final int MAX_LINE_LENGTH = 128;
+
+    private final Writer writer;
+    private final char decimalSeparator;
+    private final char columnSeparator;
+    private final char[] line = new char[MAX_LINE_LENGTH];
+    private int length;
+
+    // Десятичная запятая и пробел между столбцами, как в прежнем формате
+    public TabulatedFunctionTextWriter(Writer writer) {
+        this(writer, ',', ' ');
+    }
+
+    public TabulatedFunctionTextWriter(Writer writer, char decimalSeparator, char columnSeparator) {
+        if (decimalSeparator != ',' && decimalSeparator != '.') {
+            throw new IllegalArgumentException("Десятичный разделитель должен быть ',' или '.': " + decimalSeparator);
+        }
+        if (columnSeparator != ' ' && columnSeparator != '\t') {
+            throw new IllegalArgumentException("Разделитель столбцов должен быть пробелом или табуляцией");
+        }
+        this.writer = writer;
+        this.decimalSeparator = decimalSeparator;
+        this.columnSeparator = columnSeparator;
+    }
+
+    public void write(TabulatedFunction function) throws IOException {
+        logger.debug("Запись {} точек, десятичный разделитель: '{}'", function.getCount(), decimalSeparator);
+        length = 0;
+        appendLong(function.getCount());
+        line[length++] = '\n';
+        writer.write(line, 0, length);
+
+        for (Point point : function) {
+            length = 0;
+            appendDouble(point.x);
+            line[length++] = columnSeparator;
+            appendDouble(point.y);
+            line[length++] = '\n';
+            writer.write(line, 0, length);
+        }
+    }
+
+    // Форматирует значение в тот же буфер строки; используется и для отдельных чисел
+    String format(double value) {
+        length = 0;
+        appendDouble(value);
+        return new String(line, 0, length);
+    }
+
+    private void appendDouble(double value) {
+        if (Double.isNaN(value)) {
+            appendText("NaN");
+            return;
+        }
+        if (Double.isInfinite(value)) {
+            appendText(value > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+        if (value == 0) {
+            appendText(Double.doubleToRawLongBits(value) == 0 ? "0" : "-0");
+            return;
+        }
+
+        // Наименьшее число знаков после запятой, при котором парсер получит то же значение
+        double magnitude = Math.abs(value);
+        for (int scale = 0; scale < POWERS_OF_TEN.length; scale++) {
+            double mantissa = Math.rint(magnitude * POWERS_OF_TEN[scale]);
+            if (mantissa >= MAX_FAST_MANTISSA) {
+                break;
+            }
+            if (mantissa != 0 && mantissa / POWERS_OF_TEN[scale] == magnitude) {
+                if (value < 0) {
+                    line[length++] = '-';
+                }
+                appendScaled((long) mantissa, scale);
+                return;
+            }
+        }
+
+        // Double.toString дает запись, однозначно восстанавливающую значение
+        String text = Double.toString(value);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            line[length++] = c == '.' ? decimalSeparator : c;
+        }
+    }
+
+    // Записывает mantissa / 10^scale в десятичной форме
+    private void appendScaled(long mantissa, int scale) {
+        int start = length;
+        appendLong(mantissa);
+        int digits = length - start;
+        if (scale == 0) {
+            return;
+        }
+        if (digits <= scale) {
+            // Дополнение нулями слева: 0,00ddd
+            int zeros = scale - digits + 1;
+            System.arraycopy(line, start, line, start + zeros, digits);
+            for (int i = 0; i < zeros; i++) {
+                line[start + i] = '0';
+            }
+            length += zeros;
+            digits += zeros;
+        }
+        int pointPosition = start + digits - scale;
+        System.arraycopy(line, pointPosition, line, pointPosition + 1, scale);
+        line[pointPosition] = decimalSeparator;
+        length++;
+    }
+
+    private void appendLong(long value) {
+        int start = length;
+        do {
+            line[length++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        // Цифры записаны в обратном порядке
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            char c = line[i];
+            line[i] = line[j];
+            line[j] = c;
+        }
+    }
+
+    private void appendText(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            line[length++] = text.charAt(i);
+        }
+    }
+}
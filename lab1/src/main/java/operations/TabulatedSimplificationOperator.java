@@ -0,0 +1,125 @@
+package operations;
+
+import functions.Point;
+import functions.TabulatedFunction;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.TabulatedFunctionFactory;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class TabulatedSimplificationOperator {
+    private static final Logger logger = LogManager.getLogger(TabulatedSimplificationOperator.class);
+    private TabulatedFunctionFactory factory;
+
+    public TabulatedSimplificationOperator() {
+        this.factory = new ArrayTabulatedFunctionFactory();
+    }
+
+    public TabulatedSimplificationOperator(TabulatedFunctionFactory factory) {
+        this.factory = factory;
+    }
+
+    public TabulatedFunctionFactory getFactory() {
+        return factory;
+    }
+
+    public void setFactory(TabulatedFunctionFactory factory) {
+        this.factory = factory;
+    }
+
+    // Приемник точек упрощенной таблицы
+    public interface PointConsumer {
+        void accept(double x, double y);
+    }
+
+    public TabulatedFunction simplify(TabulatedFunction function, double maxError) {
+        logger.info("Упрощение функции типа: {}, количество точек: {}, допустимая погрешность: {}",
+            function.getClass().getSimpleName(), function.getCount(), maxError);
+
+        PointBuffer buffer = new PointBuffer();
+        simplify(function.iterator(), maxError, buffer);
+
+        TabulatedFunction result = factory.create(buffer.xValues(), buffer.yValues());
+        logger.info("Упрощение завершено: {} -> {} точек", function.getCount(), result.getCount());
+        return result;
+    }
+
+    // Потоковое упрощение: точки читаются по одной, память не зависит от размера таблицы.
+    // Жадно продлеваем отрезок от опорной точки, пока существует прямая, проходящая от опоры
+    // через текущую точку и не отклоняющаяся по y больше чем на maxError от всех промежуточных точек.
+    public void simplify(Iterator<Point> points, double maxError, PointConsumer consumer) {
+        if (maxError < 0 || Double.isNaN(maxError)) {
+            throw new IllegalArgumentException("Погрешность должна быть неотрицательной: " + maxError);
+        }
+        if (!points.hasNext()) {
+            return;
+        }
+
+        Point anchor = points.next();
+        consumer.accept(anchor.x, anchor.y);
+        if (!points.hasNext()) {
+            return;
+        }
+
+        Point last = points.next();
+        // Допустимый коридор наклонов для прямых из опорной точки
+        double lowSlope = Double.NEGATIVE_INFINITY;
+        double highSlope = Double.POSITIVE_INFINITY;
+        int emitted = 1;
+
+        while (points.hasNext()) {
+            Point current = points.next();
+
+            // Последняя точка становится промежуточной и сужает коридор
+            double dx = last.x - anchor.x;
+            double newLow = Math.max(lowSlope, (last.y - maxError - anchor.y) / dx);
+            double newHigh = Math.min(highSlope, (last.y + maxError - anchor.y) / dx);
+            double slope = (current.y - anchor.y) / (current.x - anchor.x);
+
+            if (newLow <= newHigh && slope >= newLow && slope <= newHigh) {
+                lowSlope = newLow;
+                highSlope = newHigh;
+            } else {
+                // Отрезок до current недопустим, фиксируем последнюю точку как новую опору
+                consumer.accept(last.x, last.y);
+                emitted++;
+                anchor = last;
+                lowSlope = Double.NEGATIVE_INFINITY;
+                highSlope = Double.POSITIVE_INFINITY;
+            }
+            last = current;
+        }
+
+        consumer.accept(last.x, last.y);
+        emitted++;
+        logger.debug("Потоковое упрощение выдало {} точек", emitted);
+    }
+
+    // Растущие массивы для сбора результата
+    private static class PointBuffer implements PointConsumer {
+        private double[] xValues = new double[16];
+        private double[] yValues = new double[16];
+        private int size;
+
+        @Override
+        public void accept(double x, double y) {
+            if (size == xValues.length) {
+                xValues = Arrays.copyOf(xValues, size * 2);
+                yValues = Arrays.copyOf(yValues, size * 2);
+            }
+            xValues[size] = x;
+            yValues[size] = y;
+            size++;
+        }
+
+        double[] xValues() {
+            return Arrays.copyOf(xValues, size);
+        }
+
+        double[] yValues() {
+            return Arrays.copyOf(yValues, size);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package concurrent;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomicTabulatedFunctionTest {
+
+    @Test
+    void testReadMethods() {
+        AtomicTabulatedFunction function = new AtomicTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6});
+
+        assertEquals(3, function.getCount());
+        assertEquals(2.0, function.getX(1));
+        assertEquals(6.0, function.getY(2));
+        assertEquals(1, function.indexOfX(2));
+        assertEquals(-1, function.indexOfX(2.5));
+        assertEquals(0, function.indexOfY(4));
+        assertEquals(4.5, function.apply(1.5));
+        assertEquals(3.0, function.apply(0.0));
+        assertEquals(7.0, function.apply(4.0));
+    }
+
+    @Test
+    void testUpdateAndCompareAndSet() {
+        AtomicTabulatedFunction function =
+                new AtomicTabulatedFunction(new LinkedListTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6}));
+
+        assertEquals(10.0, function.updateY(1, y -> y * 2));
+        assertTrue(function.compareAndSetY(0, 4.0, -4.0));
+        assertFalse(function.compareAndSetY(0, 4.0, 0.0));
+        function.updateAll(y -> y + 1);
+
+        assertEquals(-3.0, function.getY(0));
+        assertEquals(11.0, function.getY(1));
+        assertEquals(7.0, function.getY(2));
+    }
+
+    @Test
+    void testConcurrentMultipliersDoNotLoseUpdates() throws InterruptedException {
+        AtomicTabulatedFunction function =
+                new AtomicTabulatedFunction(new LinkedListTabulatedFunction(new UnitFunction(), 1, 100, 10));
+        Thread[] threads = new Thread[10];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new MultiplyingTask(function));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < function.getCount(); i++) {
+            assertEquals(1024.0, function.getY(i));
+        }
+    }
+
+    @Test
+    void testConcurrentIncrements() throws InterruptedException {
+        AtomicTabulatedFunction function = new AtomicTabulatedFunction(new double[]{0, 1}, new double[]{0, 0});
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int n = 0; n < 10000; n++) {
+                    function.updateAll(y -> y + 1);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000.0, function.getY(0));
+        assertEquals(40000.0, function.getY(1));
+    }
+}
@@ -0,0 +1,123 @@
+package concurrent;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+class BatchedEvaluationServiceTest {
+
+    @Test
+    void testResultsMatchApply() throws Exception {
+        TabulatedFunction table = new ArrayTabulatedFunction(new SqrFunction(), 0, 10, 11);
+        MathFunction sqr = new SqrFunction();
+        List<CompletableFuture<Double>> tableResults = new ArrayList<>();
+        List<CompletableFuture<Double>> sqrResults = new ArrayList<>();
+        double[] points = {7.5, -2, 3, 0, 10, 12.25, 0.1, 5, 9.99, 3};
+
+        try (BatchedEvaluationService service = new BatchedEvaluationService(64, 64)) {
+            for (double x : points) {
+                tableResults.add(service.evaluate(table, x));
+                sqrResults.add(service.evaluate(sqr, x));
+            }
+            for (int i = 0; i < points.length; i++) {
+                assertEquals(table.apply(points[i]), tableResults.get(i).get(), 1e-12);
+                assertEquals(sqr.apply(points[i]), sqrResults.get(i).get());
+            }
+            assertTrue(service.getBatchCount() >= 1);
+            assertEquals(2 * points.length, service.getEvaluatedCount());
+            assertTrue(service.getMaxBatchSize() <= 64);
+            assertTrue(service.getLatencyPercentileMillis(99) >= 0);
+        }
+    }
+
+    @Test
+    void testFailureIsReportedPerRequest() throws Exception {
+        MathFunction failing = x -> {
+            if (x < 0) {
+                throw new IllegalArgumentException("x < 0");
+            }
+            return x;
+        };
+        try (BatchedEvaluationService service = new BatchedEvaluationService(4, 4)) {
+            CompletableFuture<Double> bad = service.evaluate(failing, -1);
+            CompletableFuture<Double> good = service.evaluate(failing, 2);
+
+            ExecutionException exception = assertThrows(ExecutionException.class, bad::get);
+            assertTrue(exception.getCause() instanceof IllegalArgumentException);
+            assertEquals(2.0, good.get());
+        }
+    }
+
+    @Test
+    void testBackpressureAndClose() throws Exception {
+        BatchedEvaluationService service = new BatchedEvaluationService(2, 2);
+        MathFunction identity = new IdentityFunction();
+        List<CompletableFuture<Double>> results = new ArrayList<>();
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            int offset = t * 100;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    try {
+                        CompletableFuture<Double> future = service.evaluate(identity, offset + i);
+                        synchronized (results) {
+                            results.add(future);
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        service.close();
+
+        assertEquals(400, results.size());
+        for (CompletableFuture<Double> future : results) {
+            assertTrue(future.isDone());
+        }
+        assertTrue(service.getMaxBatchSize() <= 2);
+        assertThrows(IllegalStateException.class, () -> service.evaluate(identity, 0));
+    }
+
+    @Test
+    void testNaNIsEvaluatedThroughApply() throws Exception {
+        TabulatedFunction table = new ArrayTabulatedFunction(new SqrFunction(), 0, 10, 11);
+        try (BatchedEvaluationService service = new BatchedEvaluationService(64, 64)) {
+            // Запросов достаточно, чтобы таблица вычислялась одним проходом
+            List<CompletableFuture<Double>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                results.add(service.evaluate(table, i + 0.5));
+            }
+            CompletableFuture<Double> nan = service.evaluate(table, Double.NaN);
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(table.apply(i + 0.5), results.get(i).get(), 1e-12);
+            }
+            // Ответ для NaN такой же, как у apply без пакета
+            Throwable expected = assertThrows(RuntimeException.class, () -> table.apply(Double.NaN));
+            ExecutionException exception = assertThrows(ExecutionException.class, nan::get);
+            assertEquals(expected.getClass(), exception.getCause().getClass());
+        }
+    }
+
+    @Test
+    void testCloseRestoresInterruptFlag() throws Exception {
+        BatchedEvaluationService service = new BatchedEvaluationService(4, 4);
+        CompletableFuture<Double> result = service.evaluate(new IdentityFunction(), 3);
+
+        Thread.currentThread().interrupt();
+        service.close();
+
+        assertTrue(Thread.interrupted());
+        assertEquals(3.0, result.get());
+        assertThrows(IllegalStateException.class, () -> service.evaluate(new IdentityFunction(), 0));
+    }
+}
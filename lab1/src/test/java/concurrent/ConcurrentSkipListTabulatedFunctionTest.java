@@ -0,0 +1,147 @@
+package concurrent;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Iterator;
+
+class ConcurrentSkipListTabulatedFunctionTest {
+
+    @Test
+    void testReadMethods() {
+        ConcurrentSkipListTabulatedFunction function =
+                new ConcurrentSkipListTabulatedFunction(new double[]{3, 1, 2}, new double[]{6, 4, 5});
+
+        assertEquals(3, function.getCount());
+        assertEquals(1.0, function.getX(0));
+        assertEquals(2.0, function.getX(1));
+        assertEquals(6.0, function.getY(2));
+        assertEquals(1, function.indexOfX(2));
+        assertEquals(-1, function.indexOfX(2.5));
+        assertEquals(0, function.indexOfY(4));
+        assertEquals(1.0, function.leftBound());
+        assertEquals(3.0, function.rightBound());
+        assertEquals(4.5, function.apply(1.5));
+        assertEquals(5.0, function.apply(2));
+        assertEquals(3.0, function.apply(0.0));
+        assertEquals(7.0, function.apply(4.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> function.getX(3));
+    }
+
+    @Test
+    void testApplyDualMatchesArrayTabulatedFunction() {
+        double[] xValues = {0, 1, 3, 4};
+        double[] yValues = {1, 3, -1, 0};
+        ArrayTabulatedFunction array = new ArrayTabulatedFunction(xValues, yValues);
+        ConcurrentSkipListTabulatedFunction function = new ConcurrentSkipListTabulatedFunction(xValues, yValues);
+
+        assertTrue(function.isDifferentiable());
+        double[] points = {-2, 0, 0.5, 1, 2, 3, 3.5, 4, 7};
+        for (double x : points) {
+            DualNumber expected = array.applyDual(DualNumber.variable(x));
+            DualNumber actual = function.applyDual(DualNumber.variable(x));
+            assertEquals(expected.getValue(), actual.getValue(), 1e-12);
+            assertEquals(expected.getDerivative(), actual.getDerivative(), 1e-12);
+        }
+        assertEquals(2.5, new NewtonMethodFunction(function, 1e-9, 50).apply(2.0), 1e-9);
+    }
+
+    @Test
+    void testInsertRemoveAndRange() {
+        ConcurrentSkipListTabulatedFunction function = new ConcurrentSkipListTabulatedFunction();
+        assertThrows(IllegalStateException.class, () -> function.apply(0));
+        assertThrows(IllegalArgumentException.class, () -> function.insert(Double.NaN, 0));
+
+        for (int i = 0; i < 10; i++) {
+            function.insert(i, i * 10);
+        }
+        function.insert(5, -5);
+        function.setY(0, 100);
+        assertTrue(function.removeX(3));
+        assertFalse(function.removeX(3));
+        function.remove(0);
+
+        assertEquals(8, function.getCount());
+        assertEquals(-5.0, function.getYAt(5));
+        assertTrue(Double.isNaN(function.getYAt(3)));
+        assertFalse(function.containsX(0));
+
+        Iterator<Point> iterator = function.range(2, 6);
+        double[] expectedX = {2, 4, 5, 6};
+        for (double x : expectedX) {
+            assertEquals(x, iterator.next().x);
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testConcurrentInsertAndRemove() throws InterruptedException {
+        ConcurrentSkipListTabulatedFunction function = new ConcurrentSkipListTabulatedFunction();
+        int perThread = 2000;
+        Thread[] threads = new Thread[4];
+        // Постоянные точки между изменяемыми: поиск должен находить их, проходя мимо удаляемых узлов
+        for (int i = 0; i < perThread; i++) {
+            function.insert(i * threads.length + 0.5, -1);
+        }
+        // Исключения потоков передаются в поток теста, иначе ошибка не дойдет до JUnit
+        Throwable[] failures = new Throwable[threads.length + 1];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    // Каждый поток вставляет свои x вперемешку с другими потоками и удаляет нечетные из них
+                    for (int i = 0; i < perThread; i++) {
+                        function.insert(i * threads.length + offset, offset);
+                    }
+                    for (int i = 1; i < perThread; i += 2) {
+                        if (!function.removeX(i * threads.length + offset)) {
+                            throw new AssertionError("Точка не удалена: " + (i * threads.length + offset));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures[offset] = e;
+                }
+            });
+            threads[t].start();
+        }
+        Thread reader = new Thread(() -> {
+            try {
+                for (int round = 0; round < 20; round++) {
+                    for (int i = 0; i < perThread; i++) {
+                        double x = i * threads.length + 0.5;
+                        if (function.getYAt(x) != -1) {
+                            throw new AssertionError("Не найдена постоянная точка x=" + x);
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                failures[threads.length] = e;
+            }
+        });
+        reader.start();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        reader.join();
+        for (int t = 0; t < failures.length; t++) {
+            if (failures[t] != null) {
+                fail("Ошибка в потоке " + t, failures[t]);
+            }
+        }
+
+        for (int i = 0; i < perThread; i++) {
+            assertTrue(function.removeX(i * threads.length + 0.5));
+        }
+        assertEquals(threads.length * perThread / 2, function.getCount());
+        double previous = Double.NEGATIVE_INFINITY;
+        int count = 0;
+        for (Point point : function) {
+            assertTrue(point.x > previous);
+            assertEquals(0, ((int) point.x / threads.length) % 2);
+            assertEquals((int) point.x % threads.length, (int) point.y);
+            previous = point.x;
+            count++;
+        }
+        assertEquals(function.getCount(), count);
+    }
+}
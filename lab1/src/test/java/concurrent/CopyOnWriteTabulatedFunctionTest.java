@@ -0,0 +1,104 @@
+package concurrent;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class CopyOnWriteTabulatedFunctionTest {
+
+    @Test
+    void testReadMethods() {
+        CopyOnWriteTabulatedFunction function =
+                new CopyOnWriteTabulatedFunction(new LinkedListTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6}));
+
+        assertEquals(3, function.getCount());
+        assertEquals(2.0, function.getX(1));
+        assertEquals(6.0, function.getY(2));
+        assertEquals(1, function.indexOfX(2));
+        assertEquals(2, function.indexOfY(6));
+        assertEquals(1.0, function.leftBound());
+        assertEquals(3.0, function.rightBound());
+        assertEquals(5.5, function.apply(2.5));
+    }
+
+    @Test
+    void testWritesPublishNewVersion() {
+        CopyOnWriteTabulatedFunction function = new CopyOnWriteTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6});
+        Iterator<Point> iterator = function.iterator();
+
+        function.setY(0, 10.0);
+        function.insert(2.5, 0.0);
+        function.remove(3);
+
+        // Итератор продолжает обходить старую версию
+        assertEquals(4.0, iterator.next().y);
+        assertEquals(5.0, iterator.next().y);
+        assertEquals(6.0, iterator.next().y);
+        assertFalse(iterator.hasNext());
+
+        assertEquals(3, function.getCount());
+        assertEquals(10.0, function.getY(0));
+        assertEquals(2.5, function.getX(2));
+    }
+
+    @Test
+    void testBatchUpdate() {
+        CopyOnWriteTabulatedFunction function = new CopyOnWriteTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6});
+
+        function.update(draft -> {
+            for (int i = 0; i < draft.getCount(); i++) {
+                draft.setY(i, draft.getY(i) * 10);
+            }
+            draft.insert(4, 70);
+        });
+
+        assertEquals(4, function.getCount());
+        assertEquals(50.0, function.getY(1));
+        assertEquals(70.0, function.getY(3));
+    }
+
+    @Test
+    void testUpdateLeavingTooFewPointsIsRejected() {
+        CopyOnWriteTabulatedFunction function = new CopyOnWriteTabulatedFunction(new double[]{1, 2}, new double[]{4, 5});
+
+        assertThrows(IllegalStateException.class, () -> function.remove(0));
+        assertEquals(2, function.getCount());
+    }
+
+    @Test
+    void testReadersSeeConsistentVersions() throws InterruptedException {
+        CopyOnWriteTabulatedFunction function =
+                new CopyOnWriteTabulatedFunction(new ArrayTabulatedFunction(new ConstantFunction(0), 0, 99, 100));
+        AtomicBoolean inconsistent = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int n = 1; n <= 200; n++) {
+                double value = n;
+                function.update(draft -> {
+                    for (int i = 0; i < draft.getCount(); i++) {
+                        draft.setY(i, value);
+                    }
+                });
+            }
+        });
+        Thread reader = new Thread(() -> {
+            for (int n = 0; n < 200; n++) {
+                Iterator<Point> iterator = function.iterator();
+                double first = iterator.next().y;
+                while (iterator.hasNext()) {
+                    if (iterator.next().y != first) {
+                        inconsistent.set(true);
+                    }
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertFalse(inconsistent.get());
+        assertEquals(200.0, function.getY(50));
+    }
+}
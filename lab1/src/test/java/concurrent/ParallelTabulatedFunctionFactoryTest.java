@@ -0,0 +1,102 @@
+package concurrent;
+
+import functions.*;
+import functions.factory.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+
+class ParallelTabulatedFunctionFactoryTest {
+
+    @Test
+    void testArrayResultMatchesSequentialConstructor() {
+        MathFunction source = x -> Math.sin(x) * x;
+        try (ParallelTabulatedFunctionFactory factory =
+                     new ParallelTabulatedFunctionFactory(new ArrayTabulatedFunctionFactory(), 4)) {
+            TabulatedFunction parallel = factory.create(source, 3.7, -1.3, 10000);
+            TabulatedFunction sequential = new ArrayTabulatedFunction(source, 3.7, -1.3, 10000);
+
+            assertTrue(parallel instanceof ArrayTabulatedFunction);
+            assertEquals(sequential.getCount(), parallel.getCount());
+            for (int i = 0; i < sequential.getCount(); i++) {
+                assertEquals(sequential.getX(i), parallel.getX(i));
+                assertEquals(sequential.getY(i), parallel.getY(i));
+            }
+        }
+    }
+
+    @Test
+    void testLinkedListResultMatchesSequentialConstructor() {
+        MathFunction source = new SqrFunction();
+        ParallelTabulatedFunctionFactory factory =
+                new ParallelTabulatedFunctionFactory(new LinkedListTabulatedFunctionFactory());
+
+        TabulatedFunction parallel = factory.create(source, 0, 1, 257);
+        TabulatedFunction sequential = new LinkedListTabulatedFunction(source, 0, 1, 257);
+
+        assertTrue(parallel instanceof LinkedListTabulatedFunction);
+        Point[] expected = operations.TabulatedFunctionOperationService.asPoints(sequential);
+        int i = 0;
+        for (Point point : parallel) {
+            assertEquals(expected[i].x, point.x);
+            assertEquals(expected[i].y, point.y);
+            i++;
+        }
+    }
+
+    @Test
+    void testWorkIsSpreadAcrossThreads() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        MathFunction source = x -> {
+            threads.add(Thread.currentThread().getName());
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return x;
+        };
+        try (ParallelTabulatedFunctionFactory factory =
+                     new ParallelTabulatedFunctionFactory(new ArrayTabulatedFunctionFactory(), 4)) {
+            factory.create(source, 0, 1, 512);
+        }
+
+        assertTrue(threads.size() > 1);
+    }
+
+    @Test
+    void testSequentialFactoryMethod() {
+        TabulatedFunctionFactory factory = new ArrayTabulatedFunctionFactory();
+
+        TabulatedFunction function = factory.create(new SqrFunction(), 0, 2, 3);
+
+        assertEquals(1.0, function.getY(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelTabulatedFunctionFactory(factory).create(new SqrFunction(), 0, 1, 1));
+    }
+
+    @Test
+    void testDegenerateRangeMatchesSequentialConstructor() {
+        try (ParallelTabulatedFunctionFactory factory =
+                     new ParallelTabulatedFunctionFactory(new LinkedListTabulatedFunctionFactory(), 2)) {
+            TabulatedFunction function = factory.create(new SqrFunction(), 3, 3, 5);
+
+            assertTrue(function instanceof LinkedListTabulatedFunction);
+            assertEquals(5, function.getCount());
+            assertEquals(3.0, function.leftBound());
+            assertEquals(9.0, function.getY(4));
+        }
+
+        // Фабрика по умолчанию передает в create(xValues, yValues) постоянные массивы
+        double[][] received = new double[2][];
+        TabulatedFunctionFactory custom = (xValues, yValues) -> {
+            received[0] = xValues;
+            received[1] = yValues;
+            return null;
+        };
+        custom.create(new SqrFunction(), -2, -2, 3);
+        assertArrayEquals(new double[]{-2, -2, -2}, received[0]);
+        assertArrayEquals(new double[]{4, 4, 4}, received[1]);
+    }
+}
@@ -0,0 +1,89 @@
+package concurrent;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+class SeqLockTabulatedFunctionTest {
+
+    @Test
+    void testReadMethods() {
+        SeqLockTabulatedFunction function = new SeqLockTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6});
+
+        assertEquals(3, function.getCount());
+        assertEquals(2.0, function.getX(1));
+        assertEquals(6.0, function.getY(2));
+        assertEquals(1, function.indexOfX(2));
+        assertEquals(-1, function.indexOfX(2.5));
+        assertEquals(0, function.indexOfY(4));
+        assertEquals(4.5, function.apply(1.5));
+        assertEquals(3.0, function.apply(0.0));
+        assertEquals(7.0, function.apply(4.0));
+    }
+
+    @Test
+    void testWritesAdvanceSequence() {
+        SeqLockTabulatedFunction function =
+                new SeqLockTabulatedFunction(new ArrayTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6}));
+
+        function.setY(1, 10);
+        function.setAll(new double[]{-1, -2, -3});
+
+        assertEquals(4, function.getSequence());
+        Iterator<Point> iterator = function.iterator();
+        assertEquals(-1.0, iterator.next().y);
+        assertEquals(-2.0, iterator.next().y);
+        assertEquals(-3.0, iterator.next().y);
+        assertFalse(iterator.hasNext());
+        assertThrows(IllegalArgumentException.class, () -> function.setAll(new double[2]));
+        assertThrows(IndexOutOfBoundsException.class, () -> function.setY(3, 0));
+    }
+
+    @Test
+    void testReadersNeverSeeTornWindow() throws InterruptedException {
+        int count = 64;
+        SeqLockTabulatedFunction function =
+                new SeqLockTabulatedFunction(new ArrayTabulatedFunction(new ZeroFunction(), 0, count - 1, count));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        // Писатель заменяет таблицу на константу k; согласованное окно всегда дает целое k
+        Thread writer = new Thread(() -> {
+            double[] values = new double[count];
+            for (int k = 1; k <= 20000; k++) {
+                Arrays.fill(values, k);
+                function.setAll(values);
+            }
+            running.set(false);
+        });
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                int i = 0;
+                while (running.get()) {
+                    double x = i % (count - 1) + 0.3;
+                    double y = function.apply(x);
+                    if (y != Math.rint(y)) {
+                        failure.compareAndSet(null, "f(" + x + ")=" + y);
+                    }
+                    i++;
+                }
+            });
+        }
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(20000.0, function.apply(10.5));
+    }
+}
@@ -0,0 +1,127 @@
+package concurrent;
+
+import functions.*;
+import functions.factory.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class StampedTabulatedFunctionTest {
+
+    private StampedTabulatedFunction create(TabulatedFunctionFactory factory) {
+        return new StampedTabulatedFunction(factory.create(new double[]{1, 2, 3}, new double[]{4, 5, 6}));
+    }
+
+    @Test
+    void testReadMethods() {
+        StampedTabulatedFunction function = create(new ArrayTabulatedFunctionFactory());
+
+        assertEquals(3, function.getCount());
+        assertEquals(2.0, function.getX(1));
+        assertEquals(6.0, function.getY(2));
+        assertEquals(1, function.indexOfX(2));
+        assertEquals(0, function.indexOfY(4));
+        assertEquals(1.0, function.leftBound());
+        assertEquals(3.0, function.rightBound());
+        assertEquals(4.5, function.apply(1.5));
+    }
+
+    @Test
+    void testNewtonMethodOverWrapper() {
+        StampedTabulatedFunction function = new StampedTabulatedFunction(
+                new ArrayTabulatedFunction(new double[]{0, 2, 4}, new double[]{-3, 1, 2}));
+        NewtonMethodFunction newton = new NewtonMethodFunction(function, 1e-9, 50);
+
+        assertTrue(function.isDifferentiable());
+        assertEquals(1.5, newton.apply(0.0), 1e-9);
+        assertEquals(2.0, function.applyDual(DualNumber.variable(1.0)).getDerivative(), 1e-12);
+    }
+
+    @Test
+    void testSetY() {
+        StampedTabulatedFunction function = create(new LinkedListTabulatedFunctionFactory());
+
+        function.setY(1, 10.0);
+
+        assertEquals(10.0, function.getY(1));
+    }
+
+    @Test
+    void testReadExceptionIsPropagated() {
+        StampedTabulatedFunction function = create(new LinkedListTabulatedFunctionFactory());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> function.getY(5));
+    }
+
+    @Test
+    void testIteratorReturnsSnapshot() {
+        StampedTabulatedFunction function = create(new ArrayTabulatedFunctionFactory());
+        Iterator<Point> iterator = function.iterator();
+
+        function.setY(0, 100.0);
+
+        assertEquals(4.0, iterator.next().y);
+        assertEquals(5.0, iterator.next().y);
+        assertEquals(6.0, iterator.next().y);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testCompoundOperations() {
+        StampedTabulatedFunction function = create(new ArrayTabulatedFunctionFactory());
+
+        double sum = function.doReading(f -> f.getY(0) + f.getY(1) + f.getY(2));
+        assertEquals(15.0, sum);
+
+        function.doSynchronously(f -> {
+            for (int i = 0; i < f.getCount(); i++) {
+                f.setY(i, f.getY(i) * 2);
+            }
+            return null;
+        });
+        assertEquals(12.0, function.getY(2));
+    }
+
+    @Test
+    void testConcurrentIncrementsAreNotLost() throws InterruptedException {
+        StampedTabulatedFunction function =
+                new StampedTabulatedFunction(new ArrayTabulatedFunction(new ConstantFunction(0), 0, 9, 10));
+        AtomicBoolean inconsistent = new AtomicBoolean();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int n = 0; n < 1000; n++) {
+                    function.doSynchronously(f -> {
+                        for (int i = 0; i < f.getCount(); i++) {
+                            f.setY(i, f.getY(i) + 1);
+                        }
+                        return null;
+                    });
+                }
+            });
+        }
+        Thread reader = new Thread(() -> {
+            for (int n = 0; n < 1000; n++) {
+                // Все y меняются одной операцией, поэтому согласованное чтение видит равные значения
+                boolean equal = function.doReading(f -> f.getY(0) == f.getY(9));
+                if (!equal) {
+                    inconsistent.set(true);
+                }
+            }
+        });
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        reader.start();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        reader.join();
+
+        assertFalse(inconsistent.get());
+        for (int i = 0; i < function.getCount(); i++) {
+            assertEquals(4000.0, function.getY(i));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package concurrent;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Iterator;
+
+class StripedTabulatedFunctionTest {
+
+    @Test
+    void testReadMethods() {
+        StripedTabulatedFunction function = new StripedTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6}, 2);
+
+        assertEquals(3, function.getCount());
+        assertEquals(2.0, function.getX(1));
+        assertEquals(6.0, function.getY(2));
+        assertEquals(1, function.indexOfX(2));
+        assertEquals(-1, function.indexOfX(2.5));
+        assertEquals(2, function.indexOfY(6));
+        assertEquals(1.0, function.leftBound());
+        assertEquals(3.0, function.rightBound());
+        assertThrows(IndexOutOfBoundsException.class, () -> function.getY(3));
+    }
+
+    @Test
+    void testApplyDualMatchesArrayTabulatedFunction() {
+        ArrayTabulatedFunction array = new ArrayTabulatedFunction(new double[]{0, 1, 3, 4}, new double[]{1, 3, -1, 0});
+        StripedTabulatedFunction function = new StripedTabulatedFunction(array, 3);
+
+        assertTrue(function.isDifferentiable());
+        double[] points = {-2, 0, 0.5, 1, 2, 3, 3.5, 4, 7};
+        for (double x : points) {
+            DualNumber expected = array.applyDual(DualNumber.variable(x));
+            DualNumber actual = function.applyDual(DualNumber.variable(x));
+            assertEquals(expected.getValue(), actual.getValue(), 1e-12);
+            assertEquals(expected.getDerivative(), actual.getDerivative(), 1e-12);
+        }
+        assertEquals(2.5, new NewtonMethodFunction(function, 1e-9, 50).apply(2.0), 1e-9);
+    }
+
+    @Test
+    void testApplyMatchesArrayTabulatedFunction() {
+        ArrayTabulatedFunction array = new ArrayTabulatedFunction(new double[]{0, 1, 3, 4}, new double[]{1, 3, -1, 0});
+        StripedTabulatedFunction function = new StripedTabulatedFunction(array, 3);
+
+        double[] points = {-2, 0, 0.5, 1, 2, 3, 3.5, 4, 7};
+        for (double x : points) {
+            assertEquals(array.apply(x), function.apply(x), 1e-12);
+        }
+    }
+
+    @Test
+    void testStructuralOperations() {
+        StripedTabulatedFunction function = new StripedTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6}, 4);
+
+        function.insert(2.5, 0);
+        function.insert(0, -1);
+        function.insert(2, 50);
+        function.remove(4);
+
+        Iterator<Point> iterator = function.iterator();
+        double[] expectedX = {0, 1, 2, 2.5};
+        double[] expectedY = {-1, 4, 50, 0};
+        for (int i = 0; i < expectedX.length; i++) {
+            Point point = iterator.next();
+            assertEquals(expectedX[i], point.x);
+            assertEquals(expectedY[i], point.y);
+        }
+        assertFalse(iterator.hasNext());
+
+        function.remove(0);
+        function.remove(0);
+        assertThrows(IllegalStateException.class, () -> function.remove(0));
+    }
+
+    @Test
+    void testConcurrentWritersOnDisjointRanges() throws InterruptedException {
+        StripedTabulatedFunction function =
+                new StripedTabulatedFunction(new ArrayTabulatedFunction(new ZeroFunction(), 0, 999, 1000), 8);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int from = t * 250;
+            threads[t] = new Thread(() -> {
+                for (int round = 0; round < 100; round++) {
+                    for (int i = from; i < from + 250; i++) {
+                        function.setY(i, function.getY(i) + 1);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        Thread inserter = new Thread(() -> {
+            for (int i = 0; i < 50; i++) {
+                function.insert(1000 + i, 0);
+            }
+        });
+        inserter.start();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        inserter.join();
+
+        assertEquals(1050, function.getCount());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(100.0, function.getY(i));
+        }
+    }
+
+    @Test
+    void testConcurrentUpdatesOfSamePointAreNotLost() throws InterruptedException {
+        StripedTabulatedFunction function =
+                new StripedTabulatedFunction(new ArrayTabulatedFunction(new ZeroFunction(), 0, 9, 10), 4);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    function.updateY(i % 10, y -> y + 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(4000.0, function.getY(i));
+        }
+        assertEquals(4001.0, function.updateY(0, y -> y + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> function.updateY(10, y -> y));
+    }
+}
@@ -0,0 +1,97 @@
+package concurrent;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+class SynchronizedTabulatedFunctionChunkedIteratorTest {
+
+    private static SynchronizedTabulatedFunction createFunction(int count) {
+        return new SynchronizedTabulatedFunction(new ArrayTabulatedFunction(new SqrFunction(), 0, count - 1, count));
+    }
+
+    @Test
+    void testChunkedIteratorVisitsAllPoints() {
+        int[] chunkSizes = {1, 3, 5, 7, 100};
+        for (int chunkSize : chunkSizes) {
+            SynchronizedTabulatedFunction function = createFunction(10);
+            Iterator<Point> iterator =
+                function.chunkedIterator(chunkSize, SynchronizedTabulatedFunction.IterationMode.FAIL_FAST);
+            int i = 0;
+            while (iterator.hasNext()) {
+                Point point = iterator.next();
+                assertEquals(function.getX(i), point.x);
+                assertEquals(function.getY(i), point.y);
+                i++;
+            }
+            assertEquals(10, i);
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+    }
+
+    @Test
+    void testFailFastDetectsModificationBetweenChunks() {
+        SynchronizedTabulatedFunction function = createFunction(10);
+        Iterator<Point> iterator = function.chunkedIterator(4, SynchronizedTabulatedFunction.IterationMode.FAIL_FAST);
+        for (int i = 0; i < 4; i++) {
+            iterator.next();
+        }
+        function.setY(9, -1);
+
+        assertEquals(1, function.getModificationCount());
+        assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+    }
+
+    @Test
+    void testModificationAfterLastFullChunkIsNotReported() {
+        SynchronizedTabulatedFunction function = createFunction(10);
+        Iterator<Point> iterator = function.chunkedIterator(5, SynchronizedTabulatedFunction.IterationMode.FAIL_FAST);
+        for (int i = 0; i < 10; i++) {
+            iterator.next();
+        }
+        function.setY(0, -1);
+
+        // Все точки уже пройдены, лишняя порция не загружается
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testWeaklyConsistentSeesLaterChunks() {
+        SynchronizedTabulatedFunction function = createFunction(10);
+        Iterator<Point> iterator =
+            function.chunkedIterator(4, SynchronizedTabulatedFunction.IterationMode.WEAKLY_CONSISTENT);
+        iterator.next();
+        function.setY(1, -1);
+        function.setY(9, -1);
+
+        // Текущая порция уже скопирована, следующие читаются из живой таблицы
+        assertEquals(1.0, iterator.next().y);
+        double last = 0;
+        while (iterator.hasNext()) {
+            last = iterator.next().y;
+        }
+        assertEquals(-1.0, last);
+    }
+
+    @Test
+    void testExportChunk() {
+        SynchronizedTabulatedFunction function = createFunction(5);
+        double[] xBuffer = new double[3];
+        double[] yBuffer = new double[3];
+
+        assertEquals(3, function.exportChunk(0, xBuffer, yBuffer));
+        assertArrayEquals(new double[]{0, 1, 2}, xBuffer);
+        assertArrayEquals(new double[]{0, 1, 4}, yBuffer);
+        assertEquals(2, function.exportChunk(3, xBuffer, yBuffer));
+        assertEquals(4.0, xBuffer[1]);
+        assertEquals(16.0, yBuffer[1]);
+        assertEquals(0, function.exportChunk(5, xBuffer, yBuffer));
+        assertThrows(IllegalArgumentException.class, () -> function.exportChunk(0, xBuffer, new double[2]));
+        assertThrows(IllegalArgumentException.class,
+            () -> function.chunkedIterator(0, SynchronizedTabulatedFunction.IterationMode.FAIL_FAST));
+    }
+}
@@ -0,0 +1,105 @@
+package concurrent;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class TaskExecutionServiceTest {
+
+    @Test
+    void testAwaitCompletionWaitsForAllTasks() throws InterruptedException {
+        TabulatedFunction function = new LinkedListTabulatedFunction(new UnitFunction(), 1, 100, 10);
+
+        ExecutionReport report;
+        try (TaskExecutionService service = new TaskExecutionService(4)) {
+            for (int i = 0; i < 10; i++) {
+                service.submit("Multiplier-" + i, new MultiplyingTask(function));
+            }
+            report = service.awaitCompletion();
+        }
+
+        assertEquals(10, report.getCompleted());
+        assertEquals(0, report.getFailed());
+        assertEquals(0, report.getCancelled());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getMaxLatencyMillis() >= report.getLatencyPercentileMillis(50));
+        for (int i = 0; i < function.getCount(); i++) {
+            assertEquals(1024.0, function.getY(i));
+        }
+    }
+
+    @Test
+    void testFailedTasksAreReported() throws InterruptedException {
+        try (TaskExecutionService service = new TaskExecutionService()) {
+            service.submit("Ok", () -> { });
+            service.submit("Broken", () -> {
+                throw new IllegalStateException("ошибка");
+            });
+
+            ExecutionReport report = service.awaitCompletion();
+
+            assertEquals(1, report.getCompleted());
+            assertEquals(1, report.getFailed());
+            assertEquals(2, report.getCompleted() + report.getFailed() + report.getCancelled());
+        }
+    }
+
+    @Test
+    void testCancelAllInterruptsRunningTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        try (TaskExecutionService service = new TaskExecutionService(1)) {
+            service.submit("Sleeper", () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            service.submit("Queued", () -> fail("Задача не должна была начаться"));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            service.cancelAll();
+            ExecutionReport report = service.awaitCompletion(10, TimeUnit.SECONDS);
+
+            assertEquals(2, report.getCancelled());
+            assertEquals(0, report.getCompleted());
+            assertEquals(2, report.getCompleted() + report.getFailed() + report.getCancelled());
+            // Прерванная задача не попадает в задержки
+            assertEquals(0.0, report.getMaxLatencyMillis());
+            assertEquals(0, report.getElapsedNanos());
+        }
+    }
+
+    @Test
+    void testTimeout() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (TaskExecutionService service = new TaskExecutionService(1)) {
+            service.submit("Blocked", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            assertThrows(TimeoutException.class, () -> service.awaitCompletion(50, TimeUnit.MILLISECONDS));
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testTaskRunsUnderGivenName() throws InterruptedException {
+        String[] name = new String[1];
+        try (TaskExecutionService service = new TaskExecutionService(1)) {
+            service.submit("Reader-1", () -> name[0] = Thread.currentThread().getName());
+            service.awaitCompletion();
+        }
+
+        assertEquals("Reader-1", name[0]);
+        assertEquals(Runtime.version().feature() >= 21, TaskExecutionService.isVirtualThreadsSupported());
+    }
+}
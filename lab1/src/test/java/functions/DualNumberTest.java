@@ -0,0 +1,74 @@
+package functions;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DualNumberTest {
+
+    @Test
+    void testArithmetic() {
+        DualNumber x = DualNumber.variable(3.0);
+        DualNumber c = DualNumber.constant(2.0);
+
+        DualNumber product = x.multiply(x).add(c);
+        assertEquals(11.0, product.getValue());
+        assertEquals(6.0, product.getDerivative());
+
+        DualNumber quotient = c.divide(x);
+        assertEquals(2.0 / 3.0, quotient.getValue(), 1e-15);
+        assertEquals(-2.0 / 9.0, quotient.getDerivative(), 1e-15);
+
+        DualNumber difference = x.subtract(c);
+        assertEquals(1.0, difference.getValue());
+        assertEquals(1.0, difference.getDerivative());
+    }
+
+    @Test
+    void testBuiltInFunctions() {
+        DualNumber x = DualNumber.variable(1.5);
+
+        assertEquals(3.0, new SqrFunction().applyDual(x).getDerivative());
+        assertEquals(2.25, new SqrFunction().applyDual(x).getValue());
+        assertEquals(1.0, new IdentityFunction().applyDual(x).getDerivative());
+        assertEquals(0.0, new ConstantFunction(7).applyDual(x).getDerivative());
+        assertEquals(1.0, new UnitFunction().applyDual(x).getValue());
+    }
+
+    @Test
+    void testCompositeFunctionUsesChainRule() {
+        // (x²)² = x⁴, производная 4x³
+        CompositeFunction function = new SqrFunction().andThen(new SqrFunction());
+
+        DualNumber result = function.applyDual(DualNumber.variable(2.0));
+
+        assertTrue(function.isDifferentiable());
+        assertEquals(16.0, result.getValue());
+        assertEquals(32.0, result.getDerivative());
+    }
+
+    @Test
+    void testTabulatedFunctionPiecewiseDerivative() {
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{0, 1, 3}, new double[]{0, 2, 3});
+
+        assertEquals(2.0, function.applyDual(DualNumber.variable(0.5)).getDerivative());
+        assertEquals(1.0, function.applyDual(DualNumber.variable(0.5)).getValue());
+        assertEquals(0.5, function.applyDual(DualNumber.variable(1.0)).getDerivative());
+        assertEquals(0.5, function.applyDual(DualNumber.variable(3.0)).getDerivative());
+        assertEquals(2.0, function.applyDual(DualNumber.variable(-1.0)).getDerivative());
+        assertEquals(0.5, function.applyDual(DualNumber.variable(10.0)).getDerivative());
+
+        TabulatedFunction list = new LinkedListTabulatedFunction(new double[]{0, 1, 3}, new double[]{0, 2, 3});
+        assertEquals(0.5, list.applyDual(DualNumber.variable(2.0)).getDerivative());
+        assertEquals(0.5, list.applyDual(DualNumber.variable(3.0)).getDerivative());
+    }
+
+    @Test
+    void testNonDifferentiableFunction() {
+        MathFunction function = x -> x;
+        CompositeFunction composite = new SqrFunction().andThen(function);
+
+        assertFalse(function.isDifferentiable());
+        assertFalse(composite.isDifferentiable());
+        assertThrows(UnsupportedOperationException.class, () -> function.applyDual(DualNumber.variable(1)));
+    }
+}
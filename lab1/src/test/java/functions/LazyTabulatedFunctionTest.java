@@ -0,0 +1,132 @@
+package functions;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LazyTabulatedFunctionTest {
+
+    private static class CountingFunction implements MathFunction {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public double apply(double x) {
+            calls.incrementAndGet();
+            return x * x;
+        }
+    }
+
+    @Test
+    void testGridMatchesArrayTabulatedFunction() {
+        LazyTabulatedFunction lazy = new LazyTabulatedFunction(new SqrFunction(), 5, -3, 101);
+        ArrayTabulatedFunction array = new ArrayTabulatedFunction(new SqrFunction(), 5, -3, 101);
+
+        assertEquals(array.getCount(), lazy.getCount());
+        for (int i = 0; i < array.getCount(); i++) {
+            assertEquals(array.getX(i), lazy.getX(i));
+            assertEquals(array.getY(i), lazy.getY(i));
+        }
+    }
+
+    @Test
+    void testValuesAreComputedOnDemand() {
+        CountingFunction source = new CountingFunction();
+        LazyTabulatedFunction function = new LazyTabulatedFunction(source, 0, 100, 100001);
+
+        assertEquals(0, source.calls.get());
+        assertEquals(1.2345 * 1.2345, function.apply(1.2345), 1e-6);
+        assertEquals(2, source.calls.get());
+
+        function.getY(10);
+        function.getY(10);
+        assertEquals(3, function.getComputedCount());
+        assertTrue(function.isComputed(10));
+        assertFalse(function.isComputed(11));
+    }
+
+    @Test
+    void testSetYOverridesLazyValue() {
+        CountingFunction source = new CountingFunction();
+        LazyTabulatedFunction function = new LazyTabulatedFunction(source, 0, 4, 5);
+
+        function.setY(2, -1.0);
+
+        assertEquals(-1.0, function.getY(2));
+        assertEquals(0, source.calls.get());
+    }
+
+    @Test
+    void testMaterialize() {
+        CountingFunction source = new CountingFunction();
+        LazyTabulatedFunction function = new LazyTabulatedFunction(source, 0, 9, 10);
+        function.getY(3);
+
+        function.materialize();
+
+        assertEquals(10, function.getComputedCount());
+        assertEquals(10, source.calls.get());
+    }
+
+    @Test
+    void testIteratorAndIndexOf() {
+        LazyTabulatedFunction function = new LazyTabulatedFunction(new SqrFunction(), 0, 3, 4);
+
+        int i = 0;
+        for (Point point : function) {
+            assertEquals(i, point.x);
+            assertEquals(i * i, point.y);
+            i++;
+        }
+        assertEquals(4, i);
+        assertEquals(2, function.indexOfX(2.0));
+        assertEquals(-1, function.indexOfX(2.5));
+        assertEquals(3, function.indexOfY(9.0));
+    }
+
+    @Test
+    void testExtrapolation() {
+        LazyTabulatedFunction function = new LazyTabulatedFunction(new IdentityFunction(), 0, 1, 3);
+
+        assertEquals(-1.0, function.apply(-1.0), 1e-12);
+        assertEquals(2.0, function.apply(2.0), 1e-12);
+    }
+
+    @Test
+    void testConcurrentAccessSeesSameValues() throws InterruptedException {
+        CountingFunction source = new CountingFunction();
+        LazyTabulatedFunction function = new LazyTabulatedFunction(source, 0, 999, 1000);
+        Thread[] threads = new Thread[4];
+        // Значения и исключения потоков проверяются в потоке теста, иначе ошибка не дойдет до JUnit
+        double[][] observed = new double[threads.length][function.getCount()];
+        Throwable[] failures = new Throwable[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < function.getCount(); i++) {
+                        observed[thread][i] = function.getY(i);
+                    }
+                } catch (Throwable e) {
+                    failures[thread] = e;
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 0; t < threads.length; t++) {
+            assertNull(failures[t], "Ошибка в потоке " + t);
+            for (int i = 0; i < function.getCount(); i++) {
+                assertEquals((double) i * i, observed[t][i]);
+            }
+        }
+        assertEquals(1000, function.getComputedCount());
+    }
+
+    @Test
+    void testTooFewPointsThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new LazyTabulatedFunction(new SqrFunction(), 0, 1, 1));
+    }
+}
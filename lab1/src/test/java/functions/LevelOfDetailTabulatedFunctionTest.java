@@ -0,0 +1,95 @@
+package functions;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+class LevelOfDetailTabulatedFunctionTest {
+
+    private static void assertBucketsMatch(TabulatedFunction function, LevelOfDetailTabulatedFunction.Bucket[] buckets,
+                                           double from, double to) {
+        int index = 0;
+        while (index < function.getCount() && function.getX(index) < from) {
+            index++;
+        }
+        for (LevelOfDetailTabulatedFunction.Bucket bucket : buckets) {
+            assertEquals(function.getX(index), bucket.firstX);
+            assertEquals(function.getY(index), bucket.firstY);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            while (index < function.getCount() && function.getX(index) <= bucket.lastX) {
+                min = Math.min(min, function.getY(index));
+                max = Math.max(max, function.getY(index));
+                index++;
+            }
+            assertEquals(function.getY(index - 1), bucket.lastY);
+            assertEquals(min, bucket.minY);
+            assertEquals(max, bucket.maxY);
+        }
+        assertTrue(index == function.getCount() || function.getX(index) > to);
+    }
+
+    @Test
+    void testDownsampleMatchesBruteForce() {
+        Random random = new Random(42);
+        double[] xValues = new double[1000];
+        double[] yValues = new double[1000];
+        for (int i = 0; i < xValues.length; i++) {
+            xValues[i] = i;
+            yValues[i] = random.nextGaussian();
+        }
+        ArrayTabulatedFunction base = new ArrayTabulatedFunction(xValues, yValues);
+        LevelOfDetailTabulatedFunction function = new LevelOfDetailTabulatedFunction(base);
+
+        double[][] ranges = {{0, 999}, {13.5, 871.2}, {-50, 2000}, {100, 110}, {500, 500}};
+        int[] widths = {1, 7, 64, 1000};
+        for (double[] range : ranges) {
+            for (int width : widths) {
+                LevelOfDetailTabulatedFunction.Bucket[] buckets = function.downsample(range[0], range[1], width);
+                assertTrue(buckets.length <= width);
+                assertBucketsMatch(base, buckets, range[0], range[1]);
+            }
+        }
+    }
+
+    @Test
+    void testSetYUpdatesPyramid() {
+        ArrayTabulatedFunction base = new ArrayTabulatedFunction(new ConstantFunction(0), 0, 99, 100);
+        LevelOfDetailTabulatedFunction function = new LevelOfDetailTabulatedFunction(base);
+
+        function.setY(37, 5.0);
+        function.setY(80, -3.0);
+
+        LevelOfDetailTabulatedFunction.Bucket[] buckets = function.downsample(0, 99, 1);
+        assertEquals(1, buckets.length);
+        assertEquals(5.0, buckets[0].maxY);
+        assertEquals(-3.0, buckets[0].minY);
+        assertEquals(5.0, base.getY(37));
+        assertBucketsMatch(base, function.downsample(10, 90, 3), 10, 90);
+    }
+
+    @Test
+    void testSmallRangeReturnsRawPoints() {
+        LevelOfDetailTabulatedFunction function =
+                new LevelOfDetailTabulatedFunction(new LinkedListTabulatedFunction(new SqrFunction(), 0, 4, 5));
+
+        LevelOfDetailTabulatedFunction.Bucket[] buckets = function.downsample(1, 3, 10);
+
+        assertEquals(3, buckets.length);
+        assertEquals(4.0, buckets[1].minY);
+        assertEquals(4.0, buckets[1].maxY);
+        assertEquals(0, function.downsample(10, 20, 10).length);
+        assertEquals(4, function.getLevelCount());
+    }
+
+    @Test
+    void testDelegation() {
+        LevelOfDetailTabulatedFunction function =
+                new LevelOfDetailTabulatedFunction(new ArrayTabulatedFunction(new double[]{0, 2}, new double[]{0, 4}));
+
+        assertEquals(2, function.getCount());
+        assertEquals(2.0, function.apply(1.0));
+        assertEquals(1, function.indexOfX(2));
+        assertThrows(IllegalArgumentException.class, () -> function.downsample(0, 1, 0));
+    }
+}
@@ -22,4 +22,45 @@ public class NewtonMethodFunctionTest {
 
         assertThrows(ArithmeticException.class, () -> newton.apply(1.0));
     }
+
+    @Test
+    public void testAutomaticDerivative() {
+        // f(x) = x^2 - 4, производная вычисляется через дуальные числа
+        MathFunction f = new MathFunction() {
+            @Override
+            public double apply(double x) {
+                return x * x - 4;
+            }
+
+            @Override
+            public boolean isDifferentiable() {
+                return true;
+            }
+
+            @Override
+            public DualNumber applyDual(DualNumber x) {
+                return x.multiply(x).subtract(DualNumber.constant(4));
+            }
+        };
+        NewtonMethodFunction newton = new NewtonMethodFunction(f);
+
+        assertTrue(newton.isAutomaticDerivative());
+        assertEquals(2.0, newton.apply(1.0), 1e-6);
+        assertEquals(4.0, newton.getDerivative().apply(2.0), 1e-12);
+    }
+
+    @Test
+    public void testAutomaticDerivativeOfTabulatedFunction() {
+        TabulatedFunction f = new ArrayTabulatedFunction(new double[]{0, 2, 4}, new double[]{-3, 1, 2});
+        NewtonMethodFunction newton = new NewtonMethodFunction(f, 1e-9, 50);
+
+        assertEquals(1.5, newton.apply(0.0), 1e-9);
+    }
+
+    @Test
+    public void testMissingDerivativeThrows() {
+        MathFunction f = x -> x * x;
+
+        assertThrows(IllegalArgumentException.class, () -> new NewtonMethodFunction(f));
+    }
 }
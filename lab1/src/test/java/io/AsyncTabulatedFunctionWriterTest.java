@@ -0,0 +1,178 @@
+package io;
+
+import functions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+class AsyncTabulatedFunctionWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<TabulatedFunction> readAll(Path path) throws IOException {
+        List<TabulatedFunction> functions = new ArrayList<>();
+        try (TabulatedFunctionStreamReader reader = new TabulatedFunctionStreamReader(
+                Files.newInputStream(path), new ArrayTabulatedFunctionFactory())) {
+            reader.forEachRemaining(functions::add);
+        }
+        return functions;
+    }
+
+    @Test
+    void testConcurrentSubmissionsAreWrittenInBatches() throws Exception {
+        Path path = directory.resolve("functions.bin");
+        int threads = 4;
+        int perThread = 250;
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        AsyncTabulatedFunctionWriter writer = new AsyncTabulatedFunctionWriter(path, 64, 32, false);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    // y(0) однозначно определяет поток и номер функции
+                    double id = thread * perThread + i;
+                    try {
+                        CompletableFuture<Long> future = writer.submit(
+                            new ArrayTabulatedFunction(new double[]{0, 1, 2}, new double[]{id, id + 1, id + 2}));
+                        synchronized (futures) {
+                            futures.add(future);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        writer.close();
+
+        Set<Long> offsets = new HashSet<>();
+        for (CompletableFuture<Long> future : futures) {
+            assertTrue(future.isDone());
+            offsets.add(future.get());
+        }
+        assertEquals(threads * perThread, offsets.size());
+        assertEquals(threads * perThread, writer.getWrittenCount());
+        assertTrue(writer.getBatchCount() <= writer.getWrittenCount());
+
+        List<TabulatedFunction> functions = readAll(path);
+        assertEquals(threads * perThread, functions.size());
+        Set<Double> ids = new HashSet<>();
+        for (TabulatedFunction function : functions) {
+            ids.add(function.getY(0));
+            assertEquals(function.getY(0) + 2, function.getY(2));
+        }
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void testOffsetsPointToRecordsAndFileIsAppended() throws Exception {
+        Path path = directory.resolve("append.bin");
+        TabulatedFunction small = new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4});
+        // Запись больше буфера из пула
+        TabulatedFunction large = new LinkedListTabulatedFunction(new SqrFunction(), 0, 10, 10_000);
+
+        try (AsyncTabulatedFunctionWriter writer = new AsyncTabulatedFunctionWriter(path)) {
+            assertEquals(0L, writer.submit(small).get());
+        }
+        long offset;
+        try (AsyncTabulatedFunctionWriter writer = new AsyncTabulatedFunctionWriter(path)) {
+            offset = writer.submit(large).get();
+            writer.submit(small).get();
+        }
+        assertEquals(Integer.BYTES + 2 * 2 * Double.BYTES, offset);
+
+        List<TabulatedFunction> functions = readAll(path);
+        assertEquals(3, functions.size());
+        assertEquals(10_000, functions.get(1).getCount());
+        assertEquals(100.0, functions.get(1).getY(9_999), 1e-12);
+        assertEquals(4.0, functions.get(2).getY(1));
+
+        try (InputStream stream = Files.newInputStream(path)) {
+            assertEquals(offset, stream.skip(offset));
+            TabulatedFunctionStreamReader reader = new TabulatedFunctionStreamReader(stream,
+                new ArrayTabulatedFunctionFactory());
+            assertEquals(10_000, reader.next().getCount());
+        }
+    }
+
+    @Test
+    void testFunctionIsEncodedOnSubmit() throws Exception {
+        Path path = directory.resolve("snapshot.bin");
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4});
+        try (AsyncTabulatedFunctionWriter writer = new AsyncTabulatedFunctionWriter(path)) {
+            CompletableFuture<Long> future = writer.submit(function);
+            function.setY(0, 100);
+            future.get();
+        }
+        assertEquals(3.0, readAll(path).get(0).getY(0));
+    }
+
+    @Test
+    void testSubmitAfterCloseIsRejected() throws Exception {
+        AsyncTabulatedFunctionWriter writer = new AsyncTabulatedFunctionWriter(directory.resolve("closed.bin"));
+        writer.close();
+        writer.close();
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4});
+        assertThrows(IllegalStateException.class, () -> writer.submit(function));
+        assertThrows(IllegalArgumentException.class, () -> writer.submit(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new AsyncTabulatedFunctionWriter(directory.resolve("invalid.bin"), 0, 1, true));
+    }
+
+    @Test
+    void testStoppedWriterThreadDoesNotHangClose() throws Exception {
+        Path path = directory.resolve("stopped.bin");
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4});
+        AsyncTabulatedFunctionWriter writer = new AsyncTabulatedFunctionWriter(path, 1, 1, false);
+        assertEquals(0L, writer.submit(function).get());
+
+        Thread writerThread = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("Async-Function-Writer"))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+        writerThread.interrupt();
+        writerThread.join(10_000);
+        assertFalse(writerThread.isAlive());
+
+        // Поток записи остановлен до закрытия: новые записи отклоняются, close сообщает об ошибке и не зависает
+        assertThrows(IllegalStateException.class, () -> writer.submit(function));
+        assertThrows(IOException.class, writer::close);
+        assertEquals(1, readAll(path).size());
+    }
+
+    @Test
+    void testCloseRestoresInterruptFlag() throws Exception {
+        Path path = directory.resolve("interrupted.bin");
+        AsyncTabulatedFunctionWriter writer = new AsyncTabulatedFunctionWriter(path, 4, 4, false);
+        CompletableFuture<Long> future = writer.submit(new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4}));
+
+        Thread.currentThread().interrupt();
+        writer.close();
+
+        assertTrue(Thread.interrupted());
+        assertEquals(0L, future.get());
+    }
+
+    @Test
+    void testOpeningInMissingDirectoryFails() {
+        Path path = directory.resolve("missing").resolve("functions.bin");
+        assertThrows(IOException.class, () -> new AsyncTabulatedFunctionWriter(path));
+    }
+}
@@ -0,0 +1,81 @@
+package io;
+
+import functions.*;
+import functions.factory.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+class ColumnarFormatTest {
+
+    @TempDir
+    Path directory;
+
+    private static void assertSamePoints(TabulatedFunction expected, TabulatedFunction actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        for (int i = 0; i < expected.getCount(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+        }
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        // Больше одного блока буфера, чтобы проверить запись и чтение по частям
+        TabulatedFunction source = new ArrayTabulatedFunction(new SqrFunction(), -100, 100, 20001);
+        Path path = directory.resolve("columnar.bin");
+        FunctionsIO.writeTabulatedFunction(path, source);
+
+        assertEquals(16 + 2 * 8 * 20001 + 4, Files.size(path));
+        assertSamePoints(source, FunctionsIO.readTabulatedFunction(path, new LinkedListTabulatedFunctionFactory()));
+        assertSamePoints(source, FunctionsIO.mapTabulatedFunction(path));
+    }
+
+    @Test
+    void testOldFormatIsStillReadable() throws IOException {
+        TabulatedFunction source = new LinkedListTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6});
+        Path path = directory.resolve("old.bin");
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            FunctionsIO.writeTabulatedFunction(new BufferedOutputStream(stream), source);
+        }
+
+        assertSamePoints(source, FunctionsIO.readTabulatedFunction(path, new ArrayTabulatedFunctionFactory()));
+    }
+
+    @Test
+    void testCorruptionIsDetected() throws IOException {
+        Path path = directory.resolve("corrupt.bin");
+        FunctionsIO.writeTabulatedFunction(path, new ArrayTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6}));
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[20] ^= 1;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> FunctionsIO.readTabulatedFunction(path, new ArrayTabulatedFunctionFactory()));
+
+        bytes[20] ^= 1;
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 10));
+        assertThrows(IOException.class, () -> FunctionsIO.readTabulatedFunction(path, new ArrayTabulatedFunctionFactory()));
+    }
+
+    @Test
+    void testCorruptCountIsRejectedBeforeAllocation() throws IOException {
+        Path path = directory.resolve("count.bin");
+        FunctionsIO.writeTabulatedFunction(path, new ArrayTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6}));
+        byte[] bytes = Files.readAllBytes(path);
+        // Количество точек (смещение 8) заменяется на Integer.MAX_VALUE - массивы такого размера не поместились бы в память
+        bytes[8] = 0x7f;
+        bytes[9] = (byte) 0xff;
+        bytes[10] = (byte) 0xff;
+        bytes[11] = (byte) 0xff;
+        Files.write(path, bytes);
+
+        IOException exception = assertThrows(IOException.class,
+            () -> FunctionsIO.readTabulatedFunction(path, new ArrayTabulatedFunctionFactory()));
+        assertTrue(exception.getMessage().contains("Размер файла"));
+    }
+}
@@ -0,0 +1,123 @@
+package io;
+
+import functions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+class GorillaCodecTest {
+
+    private static void assertSameBits(TabulatedFunction expected, TabulatedFunction actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        Iterator<Point> expectedPoints = expected.iterator();
+        Iterator<Point> actualPoints = actual.iterator();
+        while (expectedPoints.hasNext()) {
+            Point e = expectedPoints.next();
+            Point a = actualPoints.next();
+            assertEquals(Double.doubleToRawLongBits(e.x), Double.doubleToRawLongBits(a.x));
+            assertEquals(Double.doubleToRawLongBits(e.y), Double.doubleToRawLongBits(a.y));
+        }
+        assertFalse(actualPoints.hasNext());
+    }
+
+    @Test
+    void testRoundTripIsLossless() throws IOException {
+        Random random = new Random(7);
+        int count = 5000;
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        double x = -1000;
+        for (int i = 0; i < count; i++) {
+            x += 0.001 + random.nextDouble();
+            xValues[i] = x;
+            yValues[i] = random.nextInt(4) == 0 ? yValues[Math.max(i - 1, 0)] : random.nextGaussian() * 1e10;
+        }
+        yValues[10] = Double.NaN;
+        yValues[11] = Double.NEGATIVE_INFINITY;
+        yValues[12] = -0.0;
+        yValues[13] = Double.MIN_VALUE;
+        TabulatedFunction source = new ArrayTabulatedFunction(xValues, yValues);
+
+        for (int blockSize : new int[]{2, 3, 100, 4999, 5000, 100_000}) {
+            byte[] bytes = GorillaCodec.encode(source, blockSize);
+            assertSameBits(source, GorillaCodec.decode(bytes, new ArrayTabulatedFunctionFactory()));
+            assertSameBits(source, new CompressedTabulatedFunction(bytes));
+        }
+    }
+
+    @Test
+    void testUniformGridCompressesWell() throws IOException {
+        TabulatedFunction constant = new ArrayTabulatedFunction(new ConstantFunction(2.5), 0, 1000, 100_000);
+        byte[] bytes = GorillaCodec.encode(constant);
+        // Исходный двоичный формат - 16 байт на точку
+        assertTrue(bytes.length < constant.getCount() * 4, "Размер: " + bytes.length);
+        assertSameBits(constant, GorillaCodec.decode(bytes, new ArrayTabulatedFunctionFactory()));
+
+        TabulatedFunction integers = new ArrayTabulatedFunction(x -> x, 0, 9999, 10_000);
+        assertTrue(GorillaCodec.encode(integers).length < integers.getCount() * 8);
+    }
+
+    @Test
+    void testRandomAccessByBlocks() throws IOException {
+        TabulatedFunction source = new ArrayTabulatedFunction(Math::sin, 0, 10, 1001);
+        CompressedTabulatedFunction compressed = new CompressedTabulatedFunction(GorillaCodec.encode(source, 64));
+
+        assertEquals(16, compressed.getBlockCount());
+        assertEquals(source.leftBound(), compressed.leftBound());
+        assertEquals(source.rightBound(), compressed.rightBound());
+        for (int i : new int[]{1000, 0, 63, 64, 65, 500, 999}) {
+            assertEquals(source.getX(i), compressed.getX(i));
+            assertEquals(source.getY(i), compressed.getY(i));
+        }
+        assertEquals(640, compressed.indexOfX(source.getX(640)));
+        assertEquals(-1, compressed.indexOfX(0.00123));
+        assertEquals(source.indexOfY(source.getY(777)), compressed.indexOfY(source.getY(777)));
+        for (double x : new double[]{-1, 0, 0.6399, 0.64, 0.645, 5.5, 10, 12}) {
+            assertEquals(source.apply(x), compressed.apply(x), 1e-12);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> compressed.getX(1001));
+        assertThrows(UnsupportedOperationException.class, () -> compressed.setY(0, 1));
+    }
+
+    @Test
+    void testStreamRoundTripThroughFunctionsIO() throws IOException {
+        TabulatedFunction source = new LinkedListTabulatedFunction(new SqrFunction(), -3, 3, 257);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedOutputStream stream = new BufferedOutputStream(bytes);
+        FunctionsIO.writeCompressedTabulatedFunction(stream, source);
+        FunctionsIO.writeCompressedTabulatedFunction(stream, source);
+
+        BufferedInputStream input = new BufferedInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSameBits(source, FunctionsIO.readCompressedTabulatedFunction(input));
+        assertSameBits(source, FunctionsIO.readCompressedTabulatedFunction(input));
+        assertEquals(-1, input.read());
+
+        TabulatedFunction decoded = GorillaCodec.decode(GorillaCodec.encode(source),
+            new LinkedListTabulatedFunctionFactory());
+        assertInstanceOf(LinkedListTabulatedFunction.class, decoded);
+    }
+
+    @Test
+    void testCorruptedInputIsRejected() {
+        byte[] bytes = GorillaCodec.encode(new ArrayTabulatedFunction(new SqrFunction(), 0, 1, 10));
+        assertThrows(IOException.class, () -> new CompressedTabulatedFunction(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IOException.class, () -> new CompressedTabulatedFunction(new byte[4]));
+
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] = 0;
+        assertThrows(IOException.class, () -> new CompressedTabulatedFunction(wrongMagic));
+        assertThrows(IOException.class,
+            () -> GorillaCodec.read(new ByteArrayInputStream(Arrays.copyOf(bytes, 20))));
+        assertThrows(IllegalArgumentException.class,
+            () -> GorillaCodec.encode(new ArrayTabulatedFunction(new SqrFunction(), 0, 1, 10), 1));
+    }
+}
@@ -0,0 +1,63 @@
+package io;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+class MappedTabulatedFunctionTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(TabulatedFunction function) throws IOException {
+        Path path = directory.resolve("function.bin");
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            FunctionsIO.writeTabulatedFunction(new BufferedOutputStream(stream), function);
+        }
+        return path;
+    }
+
+    @Test
+    void testMappedFunctionMatchesSource() throws IOException {
+        TabulatedFunction source = new ArrayTabulatedFunction(new SqrFunction(), -5, 5, 101);
+        TabulatedFunction mapped = FunctionsIO.mapTabulatedFunction(write(source));
+
+        assertEquals(source.getCount(), mapped.getCount());
+        assertEquals(source.leftBound(), mapped.leftBound());
+        assertEquals(source.rightBound(), mapped.rightBound());
+        assertEquals(50, mapped.indexOfX(0));
+        assertEquals(source.indexOfY(25), mapped.indexOfY(25));
+        double[] points = {-7, -5, -0.33, 0, 1.234, 5, 8};
+        for (double x : points) {
+            assertEquals(source.apply(x), mapped.apply(x), 1e-12);
+        }
+        Iterator<Point> expected = source.iterator();
+        for (Point point : mapped) {
+            Point expectedPoint = expected.next();
+            assertEquals(expectedPoint.x, point.x);
+            assertEquals(expectedPoint.y, point.y);
+        }
+        assertFalse(expected.hasNext());
+    }
+
+    @Test
+    void testReadOnlyAndValidation() throws IOException {
+        Path path = write(new LinkedListTabulatedFunction(new double[]{1, 2, 3}, new double[]{4, 5, 6}));
+        TabulatedFunction mapped = new MappedTabulatedFunction(path);
+
+        assertThrows(UnsupportedOperationException.class, () -> mapped.setY(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> mapped.getX(3));
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> new MappedTabulatedFunction(path));
+    }
+}
@@ -0,0 +1,106 @@
+package io;
+
+import exceptions.TabulatedFunctionParseException;
+import functions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+class ParallelTextFunctionLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String name, String text) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, text.getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+
+    @Test
+    void testMatchesSequentialReader() throws IOException {
+        TabulatedFunction source = new ArrayTabulatedFunction(Math::sin, -50, 50, 20_001);
+        Path path = directory.resolve("function.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            FunctionsIO.writeTabulatedFunction(writer, source);
+        }
+        TabulatedFunction sequential;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            sequential = FunctionsIO.readTabulatedFunction(reader, new ArrayTabulatedFunctionFactory());
+        }
+
+        // Маленький фрагмент, чтобы файл делился на много частей
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (ParallelTextFunctionLoader loader = new ParallelTextFunctionLoader(pool, 1000)) {
+            TabulatedFunction parallel = loader.load(path, new ArrayTabulatedFunctionFactory());
+            assertEquals(sequential.getCount(), parallel.getCount());
+            Iterator<Point> expected = sequential.iterator();
+            for (Point point : parallel) {
+                Point e = expected.next();
+                assertEquals(e.x, point.x);
+                assertEquals(e.y, point.y);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(source.getY(12345), FunctionsIO.readTextTabulatedFunction(path,
+            new ArrayTabulatedFunctionFactory()).getY(12345));
+    }
+
+    @Test
+    void testLineEndingsAndTrailingLines() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (ParallelTextFunctionLoader loader = new ParallelTextFunctionLoader(pool, 4)) {
+            TabulatedFunction withoutNewline = loader.load(write("a.txt", "3\n1 10\n2 20\n3,5 30"),
+                new ArrayTabulatedFunctionFactory());
+            assertEquals(3.5, withoutNewline.rightBound());
+            assertEquals(30.0, withoutNewline.getY(2));
+
+            TabulatedFunction windows = loader.load(write("b.txt", "2\r\n1.5 -1e3\r\n2 NaN\r\n"),
+                new ArrayTabulatedFunctionFactory());
+            assertEquals(-1000.0, windows.getY(0));
+            assertTrue(Double.isNaN(windows.getY(1)));
+
+            // Строки после последней точки не читаются, как и при последовательном чтении
+            TabulatedFunction extra = loader.load(write("c.txt", "2\n1 1\n2 2\n\nмусор\n"),
+                new ArrayTabulatedFunctionFactory());
+            assertEquals(2, extra.getCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testErrorsReportAbsoluteLineNumbers() throws IOException {
+        StringBuilder text = new StringBuilder("100\n");
+        for (int i = 0; i < 100; i++) {
+            text.append(i).append(i == 73 ? " x" : " 1").append('\n');
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try (ParallelTextFunctionLoader loader = new ParallelTextFunctionLoader(pool, 16)) {
+            TabulatedFunctionParseException exception = assertThrows(TabulatedFunctionParseException.class,
+                () -> loader.load(write("bad.txt", text.toString()), new ArrayTabulatedFunctionFactory()));
+            assertEquals(75, exception.getLine());
+            assertEquals(4, exception.getColumn());
+
+            TabulatedFunctionParseException truncated = assertThrows(TabulatedFunctionParseException.class,
+                () -> loader.load(write("short.txt", "5\n1 1\n2 2\n"), new ArrayTabulatedFunctionFactory()));
+            assertEquals(4, truncated.getLine());
+            assertThrows(TabulatedFunctionParseException.class,
+                () -> loader.load(write("empty.txt", ""), new ArrayTabulatedFunctionFactory()));
+            assertThrows(TabulatedFunctionParseException.class,
+                () -> loader.load(write("count.txt", "1\n1 1\n"), new ArrayTabulatedFunctionFactory()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
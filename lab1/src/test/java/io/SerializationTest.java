@@ -0,0 +1,91 @@
+package io;
+
+import functions.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+class SerializationTest {
+
+    private static TabulatedFunction roundTrip(TabulatedFunction function) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedOutputStream stream = new BufferedOutputStream(bytes);
+        FunctionsIO.serialize(stream, function);
+        stream.flush();
+        return FunctionsIO.deserialize(new BufferedInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static void assertSamePoints(TabulatedFunction expected, TabulatedFunction actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        Iterator<Point> iterator = actual.iterator();
+        for (Point point : expected) {
+            Point actualPoint = iterator.next();
+            assertEquals(point.x, actualPoint.x);
+            assertEquals(point.y, actualPoint.y);
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testArrayRoundTrip() throws IOException, ClassNotFoundException {
+        ArrayTabulatedFunction function = new ArrayTabulatedFunction(new SqrFunction(), -3, 3, 2500);
+        TabulatedFunction result = roundTrip(function);
+
+        assertTrue(result instanceof ArrayTabulatedFunction);
+        assertSamePoints(function, result);
+        assertEquals(function.apply(1.2345), result.apply(1.2345));
+        ((ArrayTabulatedFunction) result).insert(10, 1);
+        assertEquals(2501, result.getCount());
+    }
+
+    @Test
+    void testLongLinkedListRoundTrip() throws IOException, ClassNotFoundException {
+        // Стандартная сериализация узлов переполняла стек на списках такой длины
+        LinkedListTabulatedFunction function = new LinkedListTabulatedFunction(new SqrFunction(), 0, 1, 200_000);
+        TabulatedFunction result = roundTrip(function);
+
+        assertTrue(result instanceof LinkedListTabulatedFunction);
+        assertSamePoints(function, result);
+        ((LinkedListTabulatedFunction) result).remove(0);
+        assertEquals(199_999, result.getCount());
+    }
+
+    @Test
+    void testCorruptArrayCountIsRejectedWithoutAllocation() throws IOException {
+        ArrayTabulatedFunction function = new ArrayTabulatedFunction(new SqrFunction(), -3, 3, 2500);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedOutputStream stream = new BufferedOutputStream(bytes);
+        FunctionsIO.serialize(stream, function);
+        stream.flush();
+        byte[] data = bytes.toByteArray();
+
+        // Количество точек записано непосредственно перед первым x
+        byte[] marker = ByteBuffer.allocate(Integer.BYTES + Double.BYTES).putInt(2500).putDouble(-3).array();
+        int offset = indexOf(data, marker);
+        assertTrue(offset >= 0);
+        ByteBuffer.wrap(data, offset, Integer.BYTES).putInt(Integer.MAX_VALUE);
+
+        assertThrows(InvalidObjectException.class,
+                () -> FunctionsIO.deserialize(new BufferedInputStream(new ByteArrayInputStream(data))));
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            int j = 0;
+            while (j < pattern.length && data[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,185 @@
+package io;
+
+import functions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+class TabulatedFunctionArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRandomAccessByKeyAfterReopen() throws IOException {
+        Path path = directory.resolve("functions.archive");
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            for (int i = 0; i < 100; i++) {
+                archive.put("f" + i, new ArrayTabulatedFunction(new SqrFunction(), i, i + 10, 11 + i));
+            }
+        }
+
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            assertEquals(100, archive.size());
+            assertEquals("f0", archive.keys().iterator().next());
+            TabulatedFunctionArchive.Metadata metadata = archive.getMetadata("f42");
+            assertEquals(53, metadata.count);
+            assertEquals(42.0, metadata.leftBound);
+            assertEquals(52.0, metadata.rightBound);
+            assertEquals(Integer.BYTES + 53 * 2 * Double.BYTES, metadata.length);
+
+            TabulatedFunction function = archive.get("f42", new LinkedListTabulatedFunctionFactory());
+            assertInstanceOf(LinkedListTabulatedFunction.class, function);
+            assertEquals(53, function.getCount());
+            assertEquals(52.0 * 52.0, function.getY(52));
+            assertTrue(archive.contains("f99"));
+            assertFalse(archive.contains("f100"));
+            assertThrows(NoSuchElementException.class, () -> archive.getMetadata("f100"));
+        }
+    }
+
+    @Test
+    void testAppendReplaceRemoveAndCompact() throws IOException {
+        Path path = directory.resolve("append.archive");
+        TabulatedFunction first = new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4});
+        TabulatedFunction second = new ArrayTabulatedFunction(new double[]{5, 6, 7}, new double[]{8, 9, 10});
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            archive.put("a", first);
+            archive.put("b", first);
+        }
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            archive.put("a", second);
+            archive.put("c", second);
+            assertTrue(archive.remove("b"));
+            assertFalse(archive.remove("b"));
+        }
+
+        long sizeBefore = Files.size(path);
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            assertEquals(Arrays.asList("a", "c"), Arrays.asList(archive.keys().toArray()));
+            assertEquals(9.0, archive.get("a", new ArrayTabulatedFunctionFactory()).getY(1));
+            assertTrue(archive.getGarbageSize() > 0);
+
+            archive.compact();
+            assertTrue(Files.size(path) < sizeBefore);
+            assertEquals(10.0, archive.get("c", new ArrayTabulatedFunctionFactory()).getY(2));
+            archive.put("d", first);
+        }
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            assertEquals(3, archive.size());
+            assertEquals(0, archive.getMetadata("a").offset);
+            assertEquals(4.0, archive.get("d", new ArrayTabulatedFunctionFactory()).getY(1));
+            assertEquals(7.0, archive.get("a", new ArrayTabulatedFunctionFactory()).rightBound());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testReopenAfterPutWithoutFlush() throws IOException {
+        Path path = directory.resolve("crash.archive");
+        Path crashed = directory.resolve("crashed.archive");
+        TabulatedFunction first = new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4});
+        TabulatedFunction second = new ArrayTabulatedFunction(new SqrFunction(), 0, 10, 1000);
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            archive.put("a", first);
+            archive.put("b", second);
+            archive.flush();
+            archive.put("c", second);
+            archive.remove("a");
+            // Копия файла до close - состояние после аварийного завершения без flush
+            Files.copy(path, crashed);
+        }
+
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(crashed)) {
+            assertEquals(Arrays.asList("a", "b"), Arrays.asList(archive.keys().toArray()));
+            assertEquals(4.0, archive.get("a", new ArrayTabulatedFunctionFactory()).getY(1));
+            assertEquals(10.0, archive.get("b", new ArrayTabulatedFunctionFactory()).rightBound());
+            archive.put("d", first);
+        }
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(crashed)) {
+            assertEquals(Arrays.asList("a", "b", "d"), Arrays.asList(archive.keys().toArray()));
+            assertEquals(3.0, archive.get("d", new ArrayTabulatedFunctionFactory()).getY(0));
+        }
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            assertEquals(Arrays.asList("b", "c"), Arrays.asList(archive.keys().toArray()));
+        }
+    }
+
+    @Test
+    void testGarbageExcludesLiveIndex() throws IOException {
+        Path path = directory.resolve("garbage.archive");
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4});
+        long recordLength = Integer.BYTES + 2 * 2 * Double.BYTES;
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            archive.put("a", function);
+            archive.put("b", function);
+            archive.flush();
+            assertEquals(0, archive.getGarbageSize());
+
+            archive.put("a", function);
+            assertEquals(recordLength, archive.getGarbageSize());
+            long sizeBeforeFlush = Files.size(path);
+            archive.flush();
+            // Прежний индекс становится мусором вместе с замененной записью
+            assertEquals(sizeBeforeFlush - 2 * recordLength, archive.getGarbageSize());
+
+            archive.compact();
+            assertEquals(0, archive.getGarbageSize());
+        }
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            assertEquals(0, archive.getGarbageSize());
+        }
+    }
+
+    @Test
+    void testTooLongKeyIsRejectedBeforeWriting() throws IOException {
+        Path path = directory.resolve("keys.archive");
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4});
+        char[] longKey = new char[70_000];
+        Arrays.fill(longKey, 'k');
+        // 'я' занимает два байта, поэтому 40 000 символов не помещаются в 65535 байт
+        char[] wideKey = new char[40_000];
+        Arrays.fill(wideKey, 'я');
+        char[] maxKey = new char[TabulatedFunctionArchive.MAX_KEY_LENGTH];
+        Arrays.fill(maxKey, 'k');
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            archive.put("a", function);
+            archive.flush();
+            archive.put("b", function);
+            long sizeBefore = Files.size(path);
+
+            assertThrows(IllegalArgumentException.class, () -> archive.put(new String(longKey), function));
+            assertThrows(IllegalArgumentException.class, () -> archive.put(new String(wideKey), function));
+            assertEquals(sizeBefore, Files.size(path));
+            archive.put(new String(maxKey), function);
+        }
+        try (TabulatedFunctionArchive archive = new TabulatedFunctionArchive(path)) {
+            assertEquals(Arrays.asList("a", "b", new String(maxKey)), Arrays.asList(archive.keys().toArray()));
+        }
+    }
+
+    @Test
+    void testInvalidFilesAreRejected() throws IOException {
+        Path path = directory.resolve("broken.archive");
+        Files.write(path, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> new TabulatedFunctionArchive(path));
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> new TabulatedFunctionArchive(path));
+
+        TabulatedFunctionArchive archive = new TabulatedFunctionArchive(directory.resolve("closed.archive"));
+        archive.close();
+        archive.close();
+        assertThrows(IllegalStateException.class,
+            () -> archive.put("x", new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4})));
+    }
+}
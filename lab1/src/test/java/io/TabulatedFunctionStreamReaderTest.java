@@ -0,0 +1,102 @@
+package io;
+
+import functions.*;
+import functions.factory.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class TabulatedFunctionStreamReaderTest {
+
+    private static byte[] writeAll(TabulatedFunction... functions) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedOutputStream stream = new BufferedOutputStream(bytes);
+        for (TabulatedFunction function : functions) {
+            FunctionsIO.writeTabulatedFunction(stream, function);
+        }
+        stream.flush();
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testStreamOfFunctions() throws IOException {
+        // Вторая функция больше буфера чтения
+        byte[] bytes = writeAll(
+            new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4}),
+            new ArrayTabulatedFunction(new SqrFunction(), 0, 1, 10_000),
+            new ArrayTabulatedFunction(new double[]{5, 6}, new double[]{7, 8}));
+
+        try (Stream<TabulatedFunction> functions = FunctionsIO.readTabulatedFunctions(
+                new BufferedInputStream(new ByteArrayInputStream(bytes)), new LinkedListTabulatedFunctionFactory())) {
+            List<TabulatedFunction> result = functions.collect(Collectors.toList());
+
+            assertEquals(3, result.size());
+            assertEquals(4.0, result.get(0).getY(1));
+            assertEquals(10_000, result.get(1).getCount());
+            assertEquals(1.0, result.get(1).rightBound());
+            assertEquals(7.0, result.get(2).getY(0));
+            assertTrue(result.get(2) instanceof LinkedListTabulatedFunction);
+        }
+    }
+
+    @Test
+    void testFactoryMayKeepArrays() throws IOException {
+        byte[] bytes = writeAll(
+            new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4}),
+            new ArrayTabulatedFunction(new double[]{5, 6}, new double[]{7, 8}));
+        // Фабрика без копирования: массивы первой записи не должны измениться при чтении второй
+        List<double[]> kept = new ArrayList<>();
+        TabulatedFunctionFactory keeping = (xValues, yValues) -> {
+            kept.add(xValues);
+            kept.add(yValues);
+            return new ArrayTabulatedFunction(xValues, yValues);
+        };
+
+        try (TabulatedFunctionStreamReader reader =
+                 new TabulatedFunctionStreamReader(new ByteArrayInputStream(bytes), keeping)) {
+            reader.next();
+            reader.next();
+        }
+        assertArrayEquals(new double[]{1, 2}, kept.get(0));
+        assertArrayEquals(new double[]{3, 4}, kept.get(1));
+        assertArrayEquals(new double[]{5, 6}, kept.get(2));
+    }
+
+    @Test
+    void testPointCallbackMode() throws IOException {
+        byte[] bytes = writeAll(new ArrayTabulatedFunction(new SqrFunction(), 0, 99, 100),
+            new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4}));
+        double[] sums = new double[1];
+
+        try (TabulatedFunctionStreamReader reader = new TabulatedFunctionStreamReader(
+                new ByteArrayInputStream(bytes), new ArrayTabulatedFunctionFactory())) {
+            assertEquals(100, reader.readPoints((index, x, y) -> sums[0] += y));
+            assertEquals(328350.0, sums[0]);
+            assertEquals(3.0, reader.next().getY(0));
+            assertEquals(-1, reader.readPoints((index, x, y) -> fail()));
+            assertFalse(reader.hasNext());
+            assertEquals(2, reader.getRecordCount());
+        }
+    }
+
+    @Test
+    void testTruncatedRecord() throws IOException {
+        byte[] bytes = writeAll(new ArrayTabulatedFunction(new double[]{1, 2, 3}, new double[]{3, 4, 5}));
+        TabulatedFunctionStreamReader reader = new TabulatedFunctionStreamReader(
+            new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)), new ArrayTabulatedFunctionFactory());
+
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, reader::next);
+        assertTrue(exception.getCause() instanceof EOFException);
+    }
+}
@@ -0,0 +1,81 @@
+package io;
+
+import exceptions.TabulatedFunctionParseException;
+import functions.*;
+import functions.factory.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+class TabulatedFunctionTextParserTest {
+
+    private static TabulatedFunction read(String text) throws IOException {
+        return FunctionsIO.readTabulatedFunction(new BufferedReader(new StringReader(text)),
+            new ArrayTabulatedFunctionFactory());
+    }
+
+    @Test
+    void testCommaAndDotSeparators() throws IOException {
+        TabulatedFunction function = read("3\n-1,500000 2.25\n0 -0,0\n  1e3\t+4,5E-2  \r\n");
+
+        assertEquals(3, function.getCount());
+        assertEquals(-1.5, function.getX(0));
+        assertEquals(2.25, function.getY(0));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(function.getY(1)));
+        assertEquals(1000.0, function.getX(2));
+        assertEquals(0.045, function.getY(2));
+    }
+
+    @Test
+    void testSpecialValuesAndSlowPath() throws IOException {
+        TabulatedFunction function = read("4\n0 NaN\n1 -Infinity\n2 0.1234567890123456789\n3 1.7976931348623157e308\n");
+
+        assertTrue(Double.isNaN(function.getY(0)));
+        assertEquals(Double.NEGATIVE_INFINITY, function.getY(1));
+        assertEquals(0.1234567890123456789, function.getY(2));
+        assertEquals(Double.MAX_VALUE, function.getY(3));
+    }
+
+    @Test
+    void testMatchesParseDouble() throws IOException {
+        String[] values = {"0.1", "123456.789", "9007199254740993", "1e-22", "4.9e-324", "2.2250738585072014E-308",
+            "0.30000000000000004", "1e23", "123,456e-5"};
+        StringBuilder text = new StringBuilder().append(values.length).append('\n');
+        for (int i = 0; i < values.length; i++) {
+            text.append(i).append(' ').append(values[i]).append('\n');
+        }
+        TabulatedFunction function = read(text.toString());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.parseDouble(values[i].replace(',', '.')), function.getY(i), values[i]);
+        }
+    }
+
+    @Test
+    void testErrorPositions() {
+        TabulatedFunctionParseException exception =
+            assertThrows(TabulatedFunctionParseException.class, () -> read("2\n1 2\n3 x\n"));
+        assertEquals(3, exception.getLine());
+        assertEquals(3, exception.getColumn());
+
+        exception = assertThrows(TabulatedFunctionParseException.class, () -> read("2\n1 2,5q\n"));
+        assertEquals(2, exception.getLine());
+        assertEquals(6, exception.getColumn());
+
+        assertThrows(TabulatedFunctionParseException.class, () -> read(""));
+        assertThrows(TabulatedFunctionParseException.class, () -> read("1\n1 2\n"));
+        assertThrows(TabulatedFunctionParseException.class, () -> read("3\n1 2\n2 3\n"));
+        assertThrows(TabulatedFunctionParseException.class, () -> read("2\n1 2 3\n2 3\n"));
+    }
+
+    @Test
+    void testReaderIsNotOverConsumed() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("2\n1 2\n3 4\n2\n5 6\n7 8\nрест"));
+        TabulatedFunctionFactory factory = new LinkedListTabulatedFunctionFactory();
+
+        assertEquals(4.0, FunctionsIO.readTabulatedFunction(reader, factory).getY(1));
+        assertEquals(7.0, FunctionsIO.readTabulatedFunction(reader, factory).getX(1));
+        assertEquals("рест", reader.readLine());
+    }
+}
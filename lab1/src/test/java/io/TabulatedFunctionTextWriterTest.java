@@ -0,0 +1,73 @@
+package io;
+
+import functions.*;
+import functions.factory.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+class TabulatedFunctionTextWriterTest {
+
+    private static String write(TabulatedFunction function) throws IOException {
+        StringWriter text = new StringWriter();
+        FunctionsIO.writeTabulatedFunction(new BufferedWriter(text), function);
+        return text.toString();
+    }
+
+    @Test
+    void testShortValues() throws IOException {
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{-1.5, 0, 0.001, 100},
+            new double[]{-0.0, 2.25, 1e20, Double.NaN});
+
+        assertEquals("4\n-1,5 -0\n0 2,25\n0,001 1,0E20\n100 NaN\n", write(function));
+    }
+
+    @Test
+    void testFormatting() {
+        TabulatedFunctionTextWriter writer = new TabulatedFunctionTextWriter(new StringWriter(), '.', '\t');
+
+        assertEquals("0.1", writer.format(0.1));
+        assertEquals("-123456.789", writer.format(-123456.789));
+        assertEquals("0.000001", writer.format(1e-6));
+        assertEquals("-Infinity", writer.format(Double.NEGATIVE_INFINITY));
+        assertEquals(Double.toString(Math.PI), writer.format(Math.PI));
+        assertThrows(IllegalArgumentException.class, () -> new TabulatedFunctionTextWriter(new StringWriter(), ';', ' '));
+    }
+
+    @Test
+    void testBitExactRoundTrip() throws IOException {
+        Random random = new Random(42);
+        int count = 5000;
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            xValues[i] = i == 0 ? -1000 : xValues[i - 1] + 0.001 + random.nextDouble();
+            switch (i % 4) {
+                case 0:
+                    yValues[i] = Double.longBitsToDouble(random.nextLong());
+                    break;
+                case 1:
+                    yValues[i] = Math.round(random.nextGaussian() * 1e6) / 1000.0;
+                    break;
+                case 2:
+                    yValues[i] = random.nextDouble() * Double.MIN_NORMAL;
+                    break;
+                default:
+                    yValues[i] = random.nextGaussian();
+            }
+        }
+        TabulatedFunction function = new ArrayTabulatedFunction(xValues, yValues);
+
+        TabulatedFunction result = FunctionsIO.readTabulatedFunction(
+            new BufferedReader(new StringReader(write(function))), new ArrayTabulatedFunctionFactory());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Double.doubleToLongBits(xValues[i]), Double.doubleToLongBits(result.getX(i)));
+            assertEquals(Double.doubleToLongBits(yValues[i]), Double.doubleToLongBits(result.getY(i)));
+        }
+    }
+}
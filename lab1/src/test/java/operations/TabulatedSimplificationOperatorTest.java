@@ -0,0 +1,73 @@
+package operations;
+
+import functions.*;
+import functions.factory.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+class TabulatedSimplificationOperatorTest {
+
+    @Test
+    void testCollinearPointsReduceToEndpoints() {
+        TabulatedFunction function = new ArrayTabulatedFunction(x -> 3 * x + 1, 0, 10, 1001);
+        TabulatedSimplificationOperator operator = new TabulatedSimplificationOperator();
+
+        TabulatedFunction simplified = operator.simplify(function, 1e-9);
+
+        assertEquals(2, simplified.getCount());
+        assertEquals(0.0, simplified.leftBound(), 1e-12);
+        assertEquals(10.0, simplified.rightBound(), 1e-12);
+    }
+
+    @Test
+    void testErrorStaysWithinBound() {
+        TabulatedFunction function = new ArrayTabulatedFunction(Math::sin, 0, 10, 2000);
+        TabulatedSimplificationOperator operator = new TabulatedSimplificationOperator(new LinkedListTabulatedFunctionFactory());
+        double maxError = 1e-3;
+
+        TabulatedFunction simplified = operator.simplify(function, maxError);
+
+        assertTrue(simplified instanceof LinkedListTabulatedFunction);
+        assertTrue(simplified.getCount() < function.getCount() / 5);
+        for (int i = 0; i < function.getCount(); i++) {
+            double x = function.getX(i);
+            assertEquals(function.getY(i), simplified.apply(x), maxError + 1e-12);
+        }
+    }
+
+    @Test
+    void testZeroErrorKeepsBreakpoints() {
+        double[] xValues = {0, 1, 2, 3, 4};
+        double[] yValues = {0, 1, 0, 1, 0};
+        TabulatedSimplificationOperator operator = new TabulatedSimplificationOperator();
+
+        TabulatedFunction simplified = operator.simplify(new ArrayTabulatedFunction(xValues, yValues), 0);
+
+        assertEquals(5, simplified.getCount());
+    }
+
+    @Test
+    void testStreamingMode() {
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{0, 1, 2, 3, 4, 5}, new double[]{0, 0, 0, 5, 5, 5});
+        TabulatedSimplificationOperator operator = new TabulatedSimplificationOperator();
+        List<Point> points = new ArrayList<>();
+
+        operator.simplify(function.iterator(), 0.01, (x, y) -> points.add(new Point(x, y)));
+
+        assertEquals(4, points.size());
+        assertEquals(0.0, points.get(0).x);
+        assertEquals(2.0, points.get(1).x);
+        assertEquals(3.0, points.get(2).x);
+        assertEquals(5.0, points.get(3).x);
+    }
+
+    @Test
+    void testNegativeErrorThrows() {
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{0, 1}, new double[]{0, 1});
+        TabulatedSimplificationOperator operator = new TabulatedSimplificationOperator();
+
+        assertThrows(IllegalArgumentException.class, () -> operator.simplify(function, -1));
+    }
+}